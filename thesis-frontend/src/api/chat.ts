@@ -1,5 +1,5 @@
 import api from './axios';
-import { ChatMessage, ChatMessageRequest } from '../types';
+import { ChatMessage, ChatMessagePage, ChatMessageRequest, ChatReadReceipt, ChatSearchPage } from '../types';
 export const chatApi = {
     sendMessage: async (data: ChatMessageRequest): Promise<ChatMessage> => {
         const response = await api.post<ChatMessage>('/chat/send', data);
@@ -9,15 +9,24 @@ export const chatApi = {
         const response = await api.get<ChatMessage[]>(`/chat/group/${groupId}`);
         return response.data;
     },
+    getHistory: async (groupId: string, params: {
+        before?: string;
+        after?: string;
+        around?: string;
+        limit?: number;
+    } = {}): Promise<ChatMessagePage> => {
+        const response = await api.get<ChatMessagePage>(`/chat/group/${groupId}/history`, { params });
+        return response.data;
+    },
     editMessage: async (messageId: string, newContent: string): Promise<void> => {
         await api.put(`/chat/${messageId}`, null, { params: { newContent } });
     },
     deleteMessage: async (messageId: string): Promise<void> => {
         await api.delete(`/chat/${messageId}`);
     },
-    searchMessages: async (groupId: string, query: string): Promise<ChatMessage[]> => {
-        const response = await api.get<ChatMessage[]>(`/chat/group/${groupId}/search`, {
-            params: { query },
+    searchMessages: async (groupId: string, query: string, cursor?: string): Promise<ChatSearchPage> => {
+        const response = await api.get<ChatSearchPage>(`/chat/group/${groupId}/search`, {
+            params: { query, cursor },
         });
         return response.data;
     },
@@ -27,4 +36,18 @@ export const chatApi = {
         });
         return response.data;
     },
+    markRead: async (groupId: string, messageId?: string): Promise<ChatReadReceipt> => {
+        const response = await api.post<ChatReadReceipt>(`/chat/group/${groupId}/read`, null, {
+            params: { messageId },
+        });
+        return response.data;
+    },
+    getReadReceipts: async (groupId: string): Promise<ChatReadReceipt[]> => {
+        const response = await api.get<ChatReadReceipt[]>(`/chat/group/${groupId}/read-receipts`);
+        return response.data;
+    },
+    getUnreadCounts: async (): Promise<Record<string, number>> => {
+        const response = await api.get<Record<string, number>>('/chat/unread');
+        return response.data;
+    },
 };
@@ -85,4 +85,12 @@ export const groupApi = {
         const response = await api.get<{ userIds: string[] }>(`/group/${groupId}/online`);
         return Array.isArray(response.data?.userIds) ? response.data.userIds : [];
     },
+    getOnlineSnapshot: async (groupId: string): Promise<{ userIds: string[]; seq: number; node: string }> => {
+        const response = await api.get<{ userIds: string[]; seq: number; node: string }>(`/group/${groupId}/online`);
+        return {
+            userIds: Array.isArray(response.data?.userIds) ? response.data.userIds : [],
+            seq: typeof response.data?.seq === 'number' ? response.data.seq : 0,
+            node: response.data?.node ?? '',
+        };
+    },
 };
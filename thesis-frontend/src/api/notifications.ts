@@ -1,5 +1,5 @@
 import api from './axios';
-import { Notification } from '../types';
+import { Notification, NotificationPage } from '../types';
 export const notificationApi = {
     getAll: async (): Promise<Notification[]> => {
         const response = await api.get<Notification[]>('/notifications');
@@ -13,6 +13,16 @@ export const notificationApi = {
         const response = await api.get<Notification[]>('/notifications/unread');
         return response.data;
     },
+    getPage: async (params: {
+        type?: Notification['type'];
+        groupId?: string;
+        read?: boolean;
+        cursor?: string;
+        limit?: number;
+    } = {}): Promise<NotificationPage> => {
+        const response = await api.get<NotificationPage>('/notifications/page', { params });
+        return response.data;
+    },
     getUnreadCount: async (): Promise<{
         count: number;
     }> => {
@@ -30,4 +40,12 @@ export const notificationApi = {
     deleteNotification: async (notificationId: string): Promise<void> => {
         await api.delete(`/notifications/${notificationId}`);
     },
+    openEventStream: (): EventSource | null => {
+        const token = localStorage.getItem('access_token');
+        if (!token || typeof EventSource === 'undefined') {
+            return null;
+        }
+        const params = new URLSearchParams({ access_token: token });
+        return new EventSource(`${api.defaults.baseURL}/events/stream?${params}`);
+    },
 };
@@ -7,7 +7,9 @@ import { notificationApi } from '../../../api/notifications';
 import { formatRelativeTime } from '../../../utils/format';
 import Button from '../../ui/Button';
 import { useAuth } from '../../../contexts/AuthContext';
+import { useNotificationStream } from '../../../hooks/useNotificationStream';
 import { filterNotifications, type NotificationGroupFilter, } from '../../../utils/notificationFilters';
+const FALLBACK_POLL_MS = 30000;
 const NotificationDropdown: React.FC = () => {
     const { t } = useTranslation();
     const DROPDOWN_FILTERS = useMemo(() => [
@@ -22,6 +24,7 @@ const NotificationDropdown: React.FC = () => {
     const queryClient = useQueryClient();
     const { user } = useAuth();
     const uid = user?.id;
+    const live = useNotificationStream(uid);
     const { data: notifications = [] } = useQuery({
         queryKey: ['notifications', uid],
         queryFn: notificationApi.getNotifications,
@@ -37,6 +40,7 @@ const NotificationDropdown: React.FC = () => {
         staleTime: 0,
         refetchOnMount: 'always',
         refetchOnWindowFocus: true,
+        refetchInterval: live ? false : FALLBACK_POLL_MS,
     });
     const markAsReadMutation = useMutation({
         mutationFn: notificationApi.markAsRead,
@@ -27,13 +27,18 @@ export function useGroupPresence(groupId: string | undefined): string[] {
             return;
         }
 
-        void groupApi.getOnlineUserIds(groupId).then((ids) => {
-            if (!cancelled) {
-                setOnlineIds(ids);
-            }
-        }).catch(() => {
-            void 0;
-        });
+        const seqByNode = new Map<string, number>();
+        const loadSnapshot = () => {
+            void groupApi.getOnlineSnapshot(groupId).then((snapshot) => {
+                if (!cancelled) {
+                    seqByNode.clear();
+                    seqByNode.set(snapshot.node, snapshot.seq);
+                    setOnlineIds(snapshot.userIds);
+                }
+            }).catch(() => {
+                void 0;
+            });
+        };
 
         const base = wsBaseUrl();
         const url = base ? `${base}/ws` : '/ws';
@@ -46,13 +51,23 @@ export function useGroupPresence(groupId: string | undefined): string[] {
                 if (!client || cancelled) {
                     return;
                 }
-                client.subscribe(`/topic/group.${groupId}.presence`, (message) => {
+                // deltas sent while disconnected are lost and a restarted node counts from 1 again
+                loadSnapshot();
+                client.subscribe(`/topic/group.${groupId}.presence.delta`, (message) => {
                     try {
-                        const rawBody = message.body;
-                        const parsed = JSON.parse(rawBody) as unknown;
-                        if (Array.isArray(parsed)) {
-                            setOnlineIds(parsed.map(String));
+                        const delta = JSON.parse(message.body) as { node: string; seq: number; joined: string[]; left: string[] };
+                        const seq = seqByNode.get(delta.node);
+                        seqByNode.set(delta.node, delta.seq);
+                        if (seq !== undefined && delta.seq !== seq + 1) {
+                            loadSnapshot();
+                            return;
                         }
+                        setOnlineIds((prev) => {
+                            const next = new Set(prev);
+                            delta.left.forEach((id) => next.delete(String(id)));
+                            delta.joined.forEach((id) => next.add(String(id)));
+                            return Array.from(next).sort();
+                        });
                     }
                     catch {
                         void 0;
@@ -60,10 +75,12 @@ export function useGroupPresence(groupId: string | undefined): string[] {
                 });
                 const ping = () => {
                     if (client?.connected) {
-                        client.publish({ destination: `/app/presence.ping/${groupId}` });
+                        client.publish({ destination: '/app/presence.ping' });
                     }
                 };
-                ping();
+                if (intervalId !== undefined) {
+                    window.clearInterval(intervalId);
+                }
                 intervalId = window.setInterval(ping, 20000);
             },
         });
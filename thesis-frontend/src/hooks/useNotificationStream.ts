@@ -0,0 +1,41 @@
+import { useEffect, useState } from 'react';
+import { useQueryClient } from '@tanstack/react-query';
+import { notificationApi } from '../api/notifications';
+
+/**
+ * Keeps notification queries fresh from the server-sent event stream.
+ * Returns false while the stream is unavailable so callers can fall back to polling.
+ */
+export function useNotificationStream(userId: string | undefined): boolean {
+    const queryClient = useQueryClient();
+    const [live, setLive] = useState(false);
+
+    useEffect(() => {
+        if (!userId) {
+            return;
+        }
+        const source = notificationApi.openEventStream();
+        if (!source) {
+            setLive(false);
+            return;
+        }
+        const refresh = () => {
+            void queryClient.invalidateQueries({ queryKey: ['notifications'] });
+        };
+        source.onopen = () => setLive(true);
+        source.onerror = () => {
+            if (source.readyState === EventSource.CLOSED) {
+                setLive(false);
+            }
+        };
+        source.addEventListener('notifications', refresh);
+        source.addEventListener('resync', refresh);
+
+        return () => {
+            source.close();
+            setLive(false);
+        };
+    }, [userId, queryClient]);
+
+    return live;
+}
@@ -226,6 +226,7 @@ export const EN: Record<string, string> = {
     'notifications.loadError': 'Could not load notifications. Refresh the page.',
     'notifications.empty': 'No notifications yet. Invites and group changes will appear here.',
     'notifications.shown': 'Shown: {{shown}} of {{total}}',
+    'notifications.loadMore': 'Load more',
     'notifications.noneInCategory': 'No notifications in this category',
     'notifications.showAll': 'Show all',
     'notifications.filter.all': 'All',
@@ -449,6 +450,7 @@ export const EN: Record<string, string> = {
     'chat.deleteFail': 'Could not delete message',
     'chat.updated': 'Message updated',
     'chat.updateFail': 'Could not update message',
+    'chat.historyFail': 'Could not load message history',
     'chat.notFound': 'Group not found',
     'chat.backToList': 'Back to groups',
     'chat.badge': 'Chat',
@@ -712,6 +714,7 @@ export const RU: Record<string, string> = {
     'notifications.loadError': 'Не удалось загрузить уведомления. Обновите страницу.',
     'notifications.empty': 'Пока нет уведомлений. Приглашения, изменения в группах и файлах будут появляться здесь.',
     'notifications.shown': 'Показано: {{shown}} из {{total}}',
+    'notifications.loadMore': 'Показать ещё',
     'notifications.noneInCategory': 'Нет уведомлений в этой категории',
     'notifications.showAll': 'Показать все',
     'notifications.filter.all': 'Все',
@@ -937,6 +940,7 @@ export const RU: Record<string, string> = {
     'chat.deleteFail': 'Не удалось удалить сообщение',
     'chat.updated': 'Сообщение обновлено',
     'chat.updateFail': 'Не удалось изменить сообщение',
+    'chat.historyFail': 'Не удалось загрузить историю сообщений',
     'chat.notFound': 'Группа не найдена',
     'chat.backToList': 'К списку групп',
     'chat.badge': 'Чат',
@@ -1,5 +1,5 @@
 import React, { useMemo, useState } from 'react';
-import { useQuery, useMutation, useQueryClient } from '@tanstack/react-query';
+import { useInfiniteQuery, useQuery, useMutation, useQueryClient } from '@tanstack/react-query';
 import { Link } from 'react-router-dom';
 import { useTranslation } from 'react-i18next';
 import { Bell, CheckCheck, ExternalLink, Loader2 } from 'lucide-react';
@@ -11,6 +11,7 @@ import PageHero from '../components/ui/PageHero';
 import { formatDate } from '../utils/format';
 import { useAuth } from '../contexts/AuthContext';
 import { filterNotifications, type NotificationGroupFilter, } from '../utils/notificationFilters';
+const PAGE_SIZE = 30;
 const Notifications: React.FC = () => {
     const { t } = useTranslation();
     const queryClient = useQueryClient();
@@ -24,14 +25,24 @@ const Notifications: React.FC = () => {
         { id: 'group' as const, label: t('notifications.filter.group') },
         { id: 'chat' as const, label: t('notifications.filter.chat') },
     ], [t]);
-    const { data: items = [], isLoading, error } = useQuery({
-        queryKey: ['notifications', uid],
-        queryFn: notificationApi.getAll,
+    const { data, isLoading, error, fetchNextPage, hasNextPage, isFetchingNextPage } = useInfiniteQuery({
+        queryKey: ['notifications', uid, 'page'],
+        queryFn: ({ pageParam }) => notificationApi.getPage({ cursor: pageParam, limit: PAGE_SIZE }),
+        initialPageParam: undefined as string | undefined,
+        getNextPageParam: (last) => (last.hasMore ? last.nextCursor ?? undefined : undefined),
         enabled: !!uid,
         staleTime: 0,
         refetchOnMount: 'always',
         refetchOnWindowFocus: true,
     });
+    const items = useMemo(() => data?.pages.flatMap((p) => p.items) ?? [], [data]);
+    const { data: unreadCount } = useQuery({
+        queryKey: ['notifications', 'count', uid],
+        queryFn: notificationApi.getUnreadCount,
+        enabled: !!uid,
+        staleTime: 0,
+    });
+    const filteredItems = useMemo(() => filterNotifications(items, notifFilter), [items, notifFilter]);
     const markRead = useMutation({
         mutationFn: notificationApi.markAsRead,
         onSuccess: () => queryClient.invalidateQueries({ queryKey: ['notifications'] }),
@@ -51,8 +62,7 @@ const Notifications: React.FC = () => {
                 {t('notifications.loadError')}
             </div>);
     }
-    const unread = items.filter((n) => !n.read).length;
-    const filteredItems = useMemo(() => filterNotifications(items, notifFilter), [items, notifFilter]);
+    const unread = unreadCount?.count ?? items.filter((n) => !n.read).length;
     return (<div className="space-y-6 min-w-0">
             <PageHero badge={t('notifications.badge')} title={<span className="flex items-center gap-2 sm:gap-3 flex-wrap">
                         <Bell className="h-7 w-7 sm:h-8 sm:w-8 shrink-0 opacity-95"/>
@@ -124,6 +134,12 @@ const Notifications: React.FC = () => {
                             </CardContent>
                         </Card>))}
                 </div>)}
+                    {hasNextPage && (<div className="flex justify-center">
+                            <Button variant="secondary" onClick={() => fetchNextPage()} disabled={isFetchingNextPage} className="flex items-center gap-2">
+                                {isFetchingNextPage && <Loader2 className="h-4 w-4 animate-spin"/>}
+                                {t('notifications.loadMore')}
+                            </Button>
+                        </div>)}
                 </div>)}
         </div>);
 };
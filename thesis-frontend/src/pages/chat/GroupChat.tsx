@@ -10,7 +10,7 @@ import { groupApi } from '../../api/group';
 import { fileApi } from '../../api/file';
 import { useAuth } from '../../contexts/AuthContext';
 import { useToast } from '../../contexts/ToastContext';
-import { ChatMessage, ChatMessageRequest, User } from '../../types';
+import { ChatMessage, ChatMessagePage, ChatMessageRequest, User } from '../../types';
 import Button from '../../components/ui/Button';
 import Card, { CardContent, CardHeader } from '../../components/ui/Card';
 import PageHero from '../../components/ui/PageHero';
@@ -73,6 +73,8 @@ function renderTextWithMentions(text: string, members: User[], mine: boolean): R
         return <React.Fragment key={i}>{part}</React.Fragment>;
     });
 }
+const HISTORY_PAGE_SIZE = 50;
+const SCROLL_EDGE_PX = 80;
 const GroupChat: React.FC = () => {
     const { t } = useTranslation();
     const { groupId } = useParams<{
@@ -122,10 +124,35 @@ const GroupChat: React.FC = () => {
         enabled: !!groupId,
     });
     const canPin = !!groupStats?.canPinMessages;
+    const olderCursorRef = useRef<string | null>(null);
+    const newerCursorRef = useRef<string | null>(null);
+    const pageLoadingRef = useRef(false);
+    const stickToBottomRef = useRef(true);
+    const scrollAnchorRef = useRef<number | null>(null);
+    const pendingJumpRef = useRef<string | null>(null);
+    const [hasOlder, setHasOlder] = useState(false);
+    const [hasNewer, setHasNewer] = useState(false);
+    const [highlightId, setHighlightId] = useState<string | null>(null);
+    const applyCursors = useCallback((page: ChatMessagePage, side: 'both' | 'older' | 'newer') => {
+        if (side !== 'newer') {
+            olderCursorRef.current = page.olderCursor ?? null;
+            setHasOlder(page.hasOlder);
+        }
+        if (side !== 'older') {
+            newerCursorRef.current = page.newerCursor ?? null;
+            setHasNewer(page.hasNewer);
+        }
+    }, []);
     const { data: messages = [], isLoading: messagesLoading, } = useQuery({
         queryKey: ['chat', groupId],
-        queryFn: () => chatApi.getGroupMessages(groupId!),
+        queryFn: async () => {
+            const page = await chatApi.getHistory(groupId!, { limit: HISTORY_PAGE_SIZE });
+            applyCursors(page, 'both');
+            stickToBottomRef.current = true;
+            return page.messages;
+        },
         enabled: !!groupId,
+        refetchOnWindowFocus: false,
     });
     const mergeMessage = useCallback((msg: ChatMessage) => {
         if (!msg?.id || seenIds.current.has(msg.id)) {
@@ -159,6 +186,86 @@ const GroupChat: React.FC = () => {
         seenIds.current.delete(id);
         queryClient.setQueryData<ChatMessage[]>(['chat', groupId], (prev) => (prev ?? []).filter((m) => m.id !== id));
     }, [groupId, queryClient]);
+    const mergePage = useCallback((incoming: ChatMessage[]) => {
+        queryClient.setQueryData<ChatMessage[]>(['chat', groupId], (prev) => {
+            const known = new Set((prev ?? []).map((m) => m.id));
+            const fresh = incoming.filter((m) => !known.has(m.id));
+            return [...(prev ?? []), ...fresh].sort((a, b) => new Date(a.timestamp).getTime() - new Date(b.timestamp).getTime());
+        });
+    }, [groupId, queryClient]);
+    const loadOlder = useCallback(async () => {
+        const el = messagesScrollRef.current;
+        if (!groupId || !el || pageLoadingRef.current || !olderCursorRef.current)
+            return;
+        pageLoadingRef.current = true;
+        try {
+            const page = await chatApi.getHistory(groupId, { before: olderCursorRef.current, limit: HISTORY_PAGE_SIZE });
+            scrollAnchorRef.current = el.scrollHeight - el.scrollTop;
+            applyCursors(page, 'older');
+            mergePage(page.messages);
+        }
+        catch {
+            toastError(t('chat.historyFail'));
+        }
+        finally {
+            pageLoadingRef.current = false;
+        }
+    }, [groupId, applyCursors, mergePage, toastError, t]);
+    const loadNewer = useCallback(async () => {
+        if (!groupId || pageLoadingRef.current || !newerCursorRef.current)
+            return;
+        pageLoadingRef.current = true;
+        try {
+            const page = await chatApi.getHistory(groupId, { after: newerCursorRef.current, limit: HISTORY_PAGE_SIZE });
+            applyCursors(page, 'newer');
+            mergePage(page.messages);
+        }
+        catch {
+            toastError(t('chat.historyFail'));
+        }
+        finally {
+            pageLoadingRef.current = false;
+        }
+    }, [groupId, applyCursors, mergePage, toastError, t]);
+    const jumpToMessage = useCallback(async (messageId: string) => {
+        const el = messagesScrollRef.current;
+        const node = el?.querySelector<HTMLElement>(`[data-msg-id="${messageId}"]`);
+        if (node) {
+            stickToBottomRef.current = false;
+            node.scrollIntoView({ block: 'center', behavior: 'smooth' });
+            setHighlightId(messageId);
+            return;
+        }
+        if (!groupId || pageLoadingRef.current)
+            return;
+        pageLoadingRef.current = true;
+        try {
+            const page = await chatApi.getHistory(groupId, { around: messageId, limit: HISTORY_PAGE_SIZE });
+            applyCursors(page, 'both');
+            stickToBottomRef.current = false;
+            pendingJumpRef.current = messageId;
+            queryClient.setQueryData<ChatMessage[]>(['chat', groupId], page.messages);
+        }
+        catch {
+            toastError(t('chat.historyFail'));
+        }
+        finally {
+            pageLoadingRef.current = false;
+        }
+    }, [groupId, applyCursors, queryClient, toastError, t]);
+    const onMessagesScroll = useCallback(() => {
+        const el = messagesScrollRef.current;
+        if (!el)
+            return;
+        const nearBottom = el.scrollHeight - el.scrollTop - el.clientHeight < SCROLL_EDGE_PX;
+        stickToBottomRef.current = nearBottom && !hasNewer;
+        if (el.scrollTop < SCROLL_EDGE_PX && hasOlder) {
+            void loadOlder();
+        }
+        else if (nearBottom && hasNewer) {
+            void loadNewer();
+        }
+    }, [hasOlder, hasNewer, loadOlder, loadNewer]);
     useEffect(() => {
         seenIds.current = new Set(messages.map((m) => m.id));
     }, [messages]);
@@ -176,15 +283,40 @@ const GroupChat: React.FC = () => {
         top = Math.max(pad, Math.min(top, window.innerHeight - MENU_H - pad));
         setActionMenuCoords({ top, left });
     }, []);
+    useLayoutEffect(() => {
+        const el = messagesScrollRef.current;
+        if (!el || scrollAnchorRef.current === null)
+            return;
+        const behavior = el.style.scrollBehavior;
+        el.style.scrollBehavior = 'auto';
+        el.scrollTop = el.scrollHeight - scrollAnchorRef.current;
+        el.style.scrollBehavior = behavior;
+        scrollAnchorRef.current = null;
+    }, [messages]);
     useEffect(() => {
         const el = messagesScrollRef.current;
         if (!el)
             return;
+        const target = pendingJumpRef.current;
+        if (target) {
+            pendingJumpRef.current = null;
+            el.querySelector<HTMLElement>(`[data-msg-id="${target}"]`)?.scrollIntoView({ block: 'center' });
+            setHighlightId(target);
+            return;
+        }
+        if (!stickToBottomRef.current)
+            return;
         const id = window.requestAnimationFrame(() => {
             el.scrollTop = el.scrollHeight;
         });
         return () => window.cancelAnimationFrame(id);
     }, [messages]);
+    useEffect(() => {
+        if (!highlightId)
+            return;
+        const id = window.setTimeout(() => setHighlightId(null), 1600);
+        return () => window.clearTimeout(id);
+    }, [highlightId]);
     useLayoutEffect(() => {
         if (!openActionMenuId || !lastMsgMenuButtonRef.current)
             return;
@@ -456,11 +588,11 @@ const GroupChat: React.FC = () => {
             messageId: string;
             text: string;
         }) => chatApi.editMessage(messageId, text),
-        onSuccess: () => {
+        onSuccess: (_, { messageId, text }) => {
             setEditTarget(null);
             setEditDraft('');
             success(t('chat.updated'));
-            queryClient.invalidateQueries({ queryKey: ['chat', groupId] });
+            queryClient.setQueryData<ChatMessage[]>(['chat', groupId], (prev) => (prev ?? []).map((m) => m.id === messageId ? { ...m, content: text, edited: true } : m));
         },
         onError: () => toastError(t('chat.updateFail')),
     });
@@ -555,17 +687,17 @@ const GroupChat: React.FC = () => {
                 </CardHeader>
                 <CardContent className="px-3 sm:px-6 pb-6 pt-5 bg-gradient-to-b from-slate-50/40 to-white dark:from-slate-950/20 dark:to-slate-950">
                     <div className="rounded-[1.35rem] border border-slate-200/70 bg-[radial-gradient(ellipse_at_top,_var(--tw-gradient-stops))] from-indigo-50/40 via-slate-50/80 to-slate-100/60 p-3 sm:p-4 dark:border-slate-700/60 dark:from-indigo-950/25 dark:via-slate-900/50 dark:to-slate-950/80 shadow-inner flex flex-col max-h-[min(62dvh,560px)] sm:max-h-[min(60vh,560px)] min-h-0">
-                        {pinnedMessage ? (<div className="shrink-0 mb-3 rounded-xl border border-amber-200/80 bg-amber-50/95 dark:border-amber-900/50 dark:bg-amber-950/35 px-3 py-2.5 shadow-sm">
-                                <p className="text-[11px] font-semibold uppercase tracking-wide text-amber-900/80 dark:text-amber-200/90 mb-1 flex items-center gap-1">
+                        {pinnedMessage ? (<button type="button" onClick={() => void jumpToMessage(pinnedMessage.id)} className="shrink-0 mb-3 w-full text-left rounded-xl border border-amber-200/80 bg-amber-50/95 hover:bg-amber-100/90 dark:border-amber-900/50 dark:bg-amber-950/35 dark:hover:bg-amber-950/50 px-3 py-2.5 shadow-sm transition-colors">
+                                <span className="text-[11px] font-semibold uppercase tracking-wide text-amber-900/80 dark:text-amber-200/90 mb-1 flex items-center gap-1">
                                     <Pin className="h-3.5 w-3.5 shrink-0"/>
                                     {t('chat.pinnedBar')}
-                                </p>
-                                <p className="text-xs text-slate-700 dark:text-slate-200 line-clamp-3">
+                                </span>
+                                <span className="block text-xs text-slate-700 dark:text-slate-200 line-clamp-3">
                                     <span className="font-medium">{pinnedMessage.sender?.username}:</span>{' '}
                                     {shortReplyPreview(pinnedMessage, t)}
-                                </p>
-                            </div>) : null}
-                    <div ref={messagesScrollRef} className="flex-1 min-h-0 space-y-3 sm:space-y-4 overflow-y-auto pr-1 sm:pr-2 -mr-1 touch-pan-y scroll-smooth [scrollbar-width:thin]">
+                                </span>
+                            </button>) : null}
+                    <div ref={messagesScrollRef} onScroll={onMessagesScroll} className="flex-1 min-h-0 space-y-3 sm:space-y-4 overflow-y-auto pr-1 sm:pr-2 -mr-1 touch-pan-y scroll-smooth [scrollbar-width:thin]">
                         {messages.length === 0 ? (<div className="text-center py-14 px-4">
                                 <p className="text-slate-600 dark:text-slate-300 text-sm font-medium">{t('chat.empty')}</p>
                                 <p className="text-slate-500 dark:text-slate-500 text-sm mt-1.5 max-w-xs mx-auto">
@@ -575,9 +707,9 @@ const GroupChat: React.FC = () => {
             const mine = m.sender?.id === user?.id;
             const kind = m.messageKind || 'TEXT';
             const parentReply = m.replyToId ? messages.find((x) => x.id === m.replyToId) : undefined;
-            return (<div key={m.id} className={`flex gap-2 sm:gap-3 items-end ${mine ? 'justify-end' : 'justify-start'}`}>
+            return (<div key={m.id} data-msg-id={m.id} className={`flex gap-2 sm:gap-3 items-end ${mine ? 'justify-end' : 'justify-start'}`}>
                                         {!mine && (<UserAvatar user={m.sender} className="h-9 w-9 sm:h-10 sm:w-10 ring-2 ring-white dark:ring-slate-800 shadow-md shrink-0"/>)}
-                                        <div className={`max-w-[min(92%,22rem)] sm:max-w-[76%] min-w-0 rounded-2xl px-3.5 py-2.5 sm:px-4 sm:py-3 transition-[box-shadow,transform] ${mine
+                                        <div className={`max-w-[min(92%,22rem)] sm:max-w-[76%] min-w-0 rounded-2xl px-3.5 py-2.5 sm:px-4 sm:py-3 transition-[box-shadow,transform] ${highlightId === m.id ? 'ring-2 ring-amber-400 ' : ''}${mine
                     ? 'rounded-br-md bg-gradient-to-br from-indigo-500 via-indigo-600 to-violet-700 text-white shadow-lg shadow-indigo-900/20 ring-1 ring-white/20'
                     : 'rounded-bl-md bg-white/95 dark:bg-slate-800/90 text-slate-900 dark:text-slate-100 border border-slate-200/90 dark:border-slate-600/60 shadow-md shadow-slate-900/[0.06]'}`}>
                                             <div className="flex items-start justify-between gap-2 mb-1">
@@ -612,14 +744,14 @@ const GroupChat: React.FC = () => {
                                                         </button>
                                                     </div>
                                             </div>
-                                            {m.replyToId ? (<div className={`mb-2 rounded-lg border px-2 py-1.5 text-[11px] leading-snug ${mine
+                                            {m.replyToId ? (<button type="button" onClick={() => void jumpToMessage(m.replyToId!)} className={`mb-2 block w-full text-left rounded-lg border px-2 py-1.5 text-[11px] leading-snug ${mine
                     ? 'border-white/25 bg-black/10'
                     : 'border-slate-200 dark:border-slate-600 bg-slate-100/90 dark:bg-slate-900/40'}`}>
                                                     <Reply className="inline h-3 w-3 opacity-80 mr-0.5 align-middle"/>
                                                     <span className="font-medium">{parentReply?.sender?.username ?? '…'}</span>
                                                     <span className="opacity-70"> · </span>
                                                     <span className="opacity-95">{shortReplyPreview(parentReply, t)}</span>
-                                                </div>) : null}
+                                                </button>) : null}
                                             <div className={kind === 'TEXT'
                     ? 'text-[15px] leading-relaxed'
                     : 'text-sm leading-normal'}>
@@ -146,6 +146,27 @@ export interface ChatMessage {
     pinned?: boolean;
     pinnedAt?: string | null;
 }
+export interface ChatMessagePage {
+    messages: ChatMessage[];
+    olderCursor?: string | null;
+    newerCursor?: string | null;
+    hasOlder: boolean;
+    hasNewer: boolean;
+}
+export interface ChatSearchHit {
+    message: ChatMessage;
+    highlight: string;
+}
+export interface ChatSearchPage {
+    hits: ChatSearchHit[];
+    nextCursor?: string | null;
+    hasMore: boolean;
+}
+export interface ChatReadReceipt {
+    userId: string;
+    lastReadMessageId?: string | null;
+    lastReadAt?: string | null;
+}
 export interface ChatMessageRequest {
     content?: string;
     groupId: string;
@@ -166,6 +187,11 @@ export interface Notification {
     relatedUser?: User;
     timeAgo?: string;
 }
+export interface NotificationPage {
+    items: Notification[];
+    nextCursor?: string | null;
+    hasMore: boolean;
+}
 export interface ApiError {
     message: string;
     status?: number;
@@ -0,0 +1,32 @@
+package com.example.thesis.config;
+
+import com.example.thesis.repository.ChatArchiveRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+@Component
+public class ChatArchiveInitializer {
+
+    private static final Logger log = LoggerFactory.getLogger(ChatArchiveInitializer.class);
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public ChatArchiveInitializer(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void createSchema() {
+        try {
+            for (String ddl : ChatArchiveRepository.SCHEMA_DDL) {
+                jdbcTemplate.execute(ddl);
+            }
+        } catch (Exception e) {
+            log.warn("[CHAT] Не удалось создать архив сообщений: {}", e.getMessage());
+        }
+    }
+}
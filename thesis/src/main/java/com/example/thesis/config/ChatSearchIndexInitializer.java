@@ -0,0 +1,30 @@
+package com.example.thesis.config;
+
+import com.example.thesis.repository.ChatSearchRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+@Component
+public class ChatSearchIndexInitializer {
+
+    private static final Logger log = LoggerFactory.getLogger(ChatSearchIndexInitializer.class);
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public ChatSearchIndexInitializer(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void createIndex() {
+        try {
+            jdbcTemplate.execute(ChatSearchRepository.INDEX_DDL);
+        } catch (Exception e) {
+            log.warn("[CHAT] Не удалось создать полнотекстовый индекс сообщений: {}", e.getMessage());
+        }
+    }
+}
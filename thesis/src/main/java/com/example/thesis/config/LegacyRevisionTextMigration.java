@@ -0,0 +1,79 @@
+package com.example.thesis.config;
+
+import com.example.thesis.storage.TextSnapshotCodec;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+@Component
+public class LegacyRevisionTextMigration {
+
+    private static final Logger log = LoggerFactory.getLogger(LegacyRevisionTextMigration.class);
+
+    private static final int BATCH_SIZE = 100;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+
+    public LegacyRevisionTextMigration(JdbcTemplate jdbcTemplate, TransactionTemplate transactionTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = transactionTemplate;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void migrate() {
+        try {
+            if (!legacyColumnExists()) {
+                return;
+            }
+            int moved = 0;
+            int batch;
+            do {
+                Integer n = transactionTemplate.execute(status -> moveBatch());
+                batch = n != null ? n : 0;
+                moved += batch;
+            } while (batch == BATCH_SIZE);
+            if (moved > 0) {
+                log.info("[REVISIONS] Перенесено текстовых снимков в file_revision_text: {}", moved);
+            }
+        } catch (Exception e) {
+            log.warn("[REVISIONS] Не удалось перенести старые текстовые снимки: {}", e.getMessage());
+        }
+    }
+
+    private boolean legacyColumnExists() {
+        Integer n = jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM information_schema.columns " +
+                        "WHERE table_name = 'file_content_revision' AND column_name = 'text_snapshot'",
+                Integer.class);
+        return n != null && n > 0;
+    }
+
+    private int moveBatch() {
+        List<Map<String, Object>> rows = jdbcTemplate.queryForList(
+                "SELECT id, text_snapshot FROM file_content_revision WHERE text_snapshot IS NOT NULL LIMIT ?",
+                BATCH_SIZE);
+        for (Map<String, Object> row : rows) {
+            UUID id = (UUID) row.get("id");
+            String text = (String) row.get("text_snapshot");
+            if (!text.isEmpty()) {
+                jdbcTemplate.update(
+                        "INSERT INTO file_revision_text (revision_id, compressed_text, char_length, created_at) " +
+                                "VALUES (?, ?, ?, now()) ON CONFLICT (revision_id) DO NOTHING",
+                        id, TextSnapshotCodec.compress(text), text.length());
+            }
+            jdbcTemplate.update(
+                    "UPDATE file_content_revision SET text_snapshot = NULL, has_text_snapshot = ? WHERE id = ?",
+                    !text.isEmpty(), id);
+        }
+        return rows.size();
+    }
+}
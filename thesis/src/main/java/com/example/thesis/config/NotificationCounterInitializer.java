@@ -0,0 +1,32 @@
+package com.example.thesis.config;
+
+import com.example.thesis.repository.NotificationCounterRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+@Component
+public class NotificationCounterInitializer {
+
+    private static final Logger log = LoggerFactory.getLogger(NotificationCounterInitializer.class);
+
+    private final NotificationCounterRepository counterRepository;
+
+    public NotificationCounterInitializer(NotificationCounterRepository counterRepository) {
+        this.counterRepository = counterRepository;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void backfill() {
+        try {
+            int rows = counterRepository.backfillMissing();
+            if (rows > 0) {
+                log.info("[NOTIFY] Счётчики непрочитанных уведомлений заполнены для {} пользователей", rows);
+            }
+        } catch (Exception e) {
+            log.warn("[NOTIFY] Не удалось заполнить счётчики непрочитанных уведомлений: {}", e.getMessage());
+        }
+    }
+}
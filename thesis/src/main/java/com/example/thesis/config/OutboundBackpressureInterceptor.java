@@ -0,0 +1,147 @@
+package com.example.thesis.config;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.event.EventListener;
+import org.springframework.lang.NonNull;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.MessageChannel;
+import org.springframework.messaging.MessageHandler;
+import org.springframework.messaging.simp.SimpMessageHeaderAccessor;
+import org.springframework.messaging.support.ExecutorChannelInterceptor;
+import org.springframework.stereotype.Component;
+import org.springframework.web.socket.messaging.SessionDisconnectEvent;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+@Component
+public class OutboundBackpressureInterceptor implements ExecutorChannelInterceptor {
+
+    private static final Logger log = LoggerFactory.getLogger(OutboundBackpressureInterceptor.class);
+
+    private final WebSocketTransportProperties properties;
+    private final Map<String, SessionStats> sessions = new ConcurrentHashMap<>();
+    private final Map<String, Message<?>> latestCoalesced = new ConcurrentHashMap<>();
+    private final AtomicLong totalDropped = new AtomicLong();
+    private final AtomicLong totalCoalesced = new AtomicLong();
+
+    public OutboundBackpressureInterceptor(WebSocketTransportProperties properties) {
+        this.properties = properties;
+    }
+
+    @Override
+    public Message<?> preSend(@NonNull Message<?> message, @NonNull MessageChannel channel) {
+        String sessionId = SimpMessageHeaderAccessor.getSessionId(message.getHeaders());
+        if (sessionId == null) {
+            return message;
+        }
+        SessionStats stats = sessions.computeIfAbsent(sessionId, id -> new SessionStats());
+        String destination = SimpMessageHeaderAccessor.getDestination(message.getHeaders());
+        if (isCoalesced(destination)) {
+            if (stats.queued.get() >= properties.getMaxQueuedPerSession()) {
+                stats.dropped.incrementAndGet();
+                totalDropped.incrementAndGet();
+                return null;
+            }
+            latestCoalesced.put(sessionId + "|" + destination, message);
+        }
+        int queued = stats.queued.incrementAndGet();
+        stats.maxQueued.accumulateAndGet(queued, Math::max);
+        return message;
+    }
+
+    @Override
+    public Message<?> beforeHandle(@NonNull Message<?> message, @NonNull MessageChannel channel,
+                                   @NonNull MessageHandler handler) {
+        String sessionId = SimpMessageHeaderAccessor.getSessionId(message.getHeaders());
+        if (sessionId == null) {
+            return message;
+        }
+        String destination = SimpMessageHeaderAccessor.getDestination(message.getHeaders());
+        if (isCoalesced(destination)) {
+            String key = sessionId + "|" + destination;
+            Message<?> latest = latestCoalesced.get(key);
+            if (latest != null && latest != message) {
+                SessionStats stats = sessions.get(sessionId);
+                if (stats != null) {
+                    stats.queued.decrementAndGet();
+                    stats.coalesced.incrementAndGet();
+                }
+                totalCoalesced.incrementAndGet();
+                return null;
+            }
+            latestCoalesced.remove(key, message);
+        }
+        return message;
+    }
+
+    @Override
+    public void afterMessageHandled(@NonNull Message<?> message, @NonNull MessageChannel channel,
+                                    @NonNull MessageHandler handler, Exception ex) {
+        String sessionId = SimpMessageHeaderAccessor.getSessionId(message.getHeaders());
+        if (sessionId == null) {
+            return;
+        }
+        SessionStats stats = sessions.get(sessionId);
+        if (stats != null) {
+            stats.queued.decrementAndGet();
+            stats.sent.incrementAndGet();
+        }
+    }
+
+    @EventListener
+    public void onDisconnect(SessionDisconnectEvent event) {
+        String sessionId = event.getSessionId();
+        SessionStats stats = sessions.remove(sessionId);
+        latestCoalesced.keySet().removeIf(k -> k.startsWith(sessionId + "|"));
+        if (stats != null && (stats.dropped.get() > 0 || stats.coalesced.get() > 0)) {
+            log.info("[WS] Сессия {} закрыта: отправлено {}, объединено {}, отброшено {}, пик очереди {}",
+                    sessionId, stats.sent.get(), stats.coalesced.get(), stats.dropped.get(), stats.maxQueued.get());
+        }
+    }
+
+    public Map<String, Object> snapshot() {
+        Map<String, Object> out = new LinkedHashMap<>();
+        out.put("sessions", sessions.size());
+        out.put("queued", sessions.values().stream().mapToInt(s -> s.queued.get()).sum());
+        out.put("maxQueued", sessions.values().stream().mapToInt(s -> s.maxQueued.get()).max().orElse(0));
+        out.put("coalesced", totalCoalesced.get());
+        out.put("dropped", totalDropped.get());
+        Map<String, Object> perSession = new LinkedHashMap<>();
+        sessions.forEach((id, s) -> {
+            Map<String, Object> m = new LinkedHashMap<>();
+            m.put("queued", s.queued.get());
+            m.put("maxQueued", s.maxQueued.get());
+            m.put("sent", s.sent.get());
+            m.put("coalesced", s.coalesced.get());
+            m.put("dropped", s.dropped.get());
+            perSession.put(id, m);
+        });
+        out.put("perSession", perSession);
+        return out;
+    }
+
+    private boolean isCoalesced(String destination) {
+        if (destination == null) {
+            return false;
+        }
+        for (String suffix : properties.getCoalescedSuffixes()) {
+            if (destination.endsWith(suffix)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static class SessionStats {
+        private final AtomicInteger queued = new AtomicInteger();
+        private final AtomicInteger maxQueued = new AtomicInteger();
+        private final AtomicLong sent = new AtomicLong();
+        private final AtomicLong coalesced = new AtomicLong();
+        private final AtomicLong dropped = new AtomicLong();
+    }
+}
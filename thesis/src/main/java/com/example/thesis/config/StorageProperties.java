@@ -19,6 +19,29 @@ public class StorageProperties {
     
     private String newFiles = "local";
 
+    private boolean localSharded = true;
+    private boolean localLayoutMigrateOnStartup = false;
+    private int localLayoutMigrationBatchSize = 500;
+
+    private boolean migrationEnabled = false;
+    private String migrationTarget = "object";
+    private int migrationBatchSize = 50;
+    private long migrationMaxBytesPerSecond = 20L * 1024 * 1024;
+    private boolean migrationDeleteSource = false;
+
+    private boolean tieringEnabled = false;
+    private int tieringColdAfterDays = 30;
+    private int tieringChatMediaColdAfterDays = 7;
+    private int tieringBatchSize = 100;
+    private boolean tieringPromoteOnAccess = true;
+    private double tieringAccessSampleRate = 0.1;
+
+    private boolean gcEnabled = false;
+    private boolean gcDryRun = false;
+    private int gcGraceHours = 24;
+    private int gcBatchSize = 200;
+    private long gcBatchPauseMs = 500;
+
     public boolean isObjectEnabled() {
         return objectEnabled;
     }
@@ -78,4 +101,160 @@ public class StorageProperties {
     public boolean isNewFilesObject() {
         return "object".equalsIgnoreCase(newFiles);
     }
+
+    public boolean isLocalSharded() {
+        return localSharded;
+    }
+
+    public void setLocalSharded(boolean localSharded) {
+        this.localSharded = localSharded;
+    }
+
+    public boolean isLocalLayoutMigrateOnStartup() {
+        return localLayoutMigrateOnStartup;
+    }
+
+    public void setLocalLayoutMigrateOnStartup(boolean localLayoutMigrateOnStartup) {
+        this.localLayoutMigrateOnStartup = localLayoutMigrateOnStartup;
+    }
+
+    public int getLocalLayoutMigrationBatchSize() {
+        return localLayoutMigrationBatchSize;
+    }
+
+    public void setLocalLayoutMigrationBatchSize(int localLayoutMigrationBatchSize) {
+        this.localLayoutMigrationBatchSize = localLayoutMigrationBatchSize;
+    }
+
+    public boolean isMigrationEnabled() {
+        return migrationEnabled;
+    }
+
+    public void setMigrationEnabled(boolean migrationEnabled) {
+        this.migrationEnabled = migrationEnabled;
+    }
+
+    public String getMigrationTarget() {
+        return migrationTarget;
+    }
+
+    public void setMigrationTarget(String migrationTarget) {
+        this.migrationTarget = migrationTarget;
+    }
+
+    public boolean isMigrationTargetObject() {
+        return "object".equalsIgnoreCase(migrationTarget);
+    }
+
+    public int getMigrationBatchSize() {
+        return migrationBatchSize;
+    }
+
+    public void setMigrationBatchSize(int migrationBatchSize) {
+        this.migrationBatchSize = migrationBatchSize;
+    }
+
+    public long getMigrationMaxBytesPerSecond() {
+        return migrationMaxBytesPerSecond;
+    }
+
+    public void setMigrationMaxBytesPerSecond(long migrationMaxBytesPerSecond) {
+        this.migrationMaxBytesPerSecond = migrationMaxBytesPerSecond;
+    }
+
+    public boolean isMigrationDeleteSource() {
+        return migrationDeleteSource;
+    }
+
+    public void setMigrationDeleteSource(boolean migrationDeleteSource) {
+        this.migrationDeleteSource = migrationDeleteSource;
+    }
+
+    public boolean isTieringEnabled() {
+        return tieringEnabled;
+    }
+
+    public void setTieringEnabled(boolean tieringEnabled) {
+        this.tieringEnabled = tieringEnabled;
+    }
+
+    public int getTieringColdAfterDays() {
+        return tieringColdAfterDays;
+    }
+
+    public void setTieringColdAfterDays(int tieringColdAfterDays) {
+        this.tieringColdAfterDays = tieringColdAfterDays;
+    }
+
+    public int getTieringChatMediaColdAfterDays() {
+        return tieringChatMediaColdAfterDays;
+    }
+
+    public void setTieringChatMediaColdAfterDays(int tieringChatMediaColdAfterDays) {
+        this.tieringChatMediaColdAfterDays = tieringChatMediaColdAfterDays;
+    }
+
+    public int getTieringBatchSize() {
+        return tieringBatchSize;
+    }
+
+    public void setTieringBatchSize(int tieringBatchSize) {
+        this.tieringBatchSize = tieringBatchSize;
+    }
+
+    public boolean isTieringPromoteOnAccess() {
+        return tieringPromoteOnAccess;
+    }
+
+    public void setTieringPromoteOnAccess(boolean tieringPromoteOnAccess) {
+        this.tieringPromoteOnAccess = tieringPromoteOnAccess;
+    }
+
+    public double getTieringAccessSampleRate() {
+        return tieringAccessSampleRate;
+    }
+
+    public void setTieringAccessSampleRate(double tieringAccessSampleRate) {
+        this.tieringAccessSampleRate = tieringAccessSampleRate;
+    }
+
+    public boolean isGcEnabled() {
+        return gcEnabled;
+    }
+
+    public void setGcEnabled(boolean gcEnabled) {
+        this.gcEnabled = gcEnabled;
+    }
+
+    public boolean isGcDryRun() {
+        return gcDryRun;
+    }
+
+    public void setGcDryRun(boolean gcDryRun) {
+        this.gcDryRun = gcDryRun;
+    }
+
+    public int getGcGraceHours() {
+        return gcGraceHours;
+    }
+
+    public void setGcGraceHours(int gcGraceHours) {
+        this.gcGraceHours = gcGraceHours;
+    }
+
+    public int getGcBatchSize() {
+        return gcBatchSize;
+    }
+
+    public void setGcBatchSize(int gcBatchSize) {
+        this.gcBatchSize = gcBatchSize;
+    }
+
+    public long getGcBatchPauseMs() {
+        return gcBatchPauseMs;
+    }
+
+    public void setGcBatchPauseMs(long gcBatchPauseMs) {
+        this.gcBatchPauseMs = gcBatchPauseMs;
+    }
 }
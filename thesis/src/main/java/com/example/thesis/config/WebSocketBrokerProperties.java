@@ -0,0 +1,113 @@
+package com.example.thesis.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+@Component
+@ConfigurationProperties(prefix = "app.websocket.broker")
+public class WebSocketBrokerProperties {
+
+    private String mode = "simple";
+    private String relayHost = "127.0.0.1";
+    private int relayPort = 61613;
+    private String clientLogin = "guest";
+    private String clientPasscode = "guest";
+    private String systemLogin = "guest";
+    private String systemPasscode = "guest";
+    private String virtualHost = null;
+    private long heartbeatMs = 10000;
+    private String userDestinationBroadcast = "/topic/unresolved-user-destination";
+    private String userRegistryBroadcast = "/topic/simp-user-registry";
+
+    public boolean isRelay() {
+        return "relay".equalsIgnoreCase(mode);
+    }
+
+    public String getMode() {
+        return mode;
+    }
+
+    public void setMode(String mode) {
+        this.mode = mode;
+    }
+
+    public String getRelayHost() {
+        return relayHost;
+    }
+
+    public void setRelayHost(String relayHost) {
+        this.relayHost = relayHost;
+    }
+
+    public int getRelayPort() {
+        return relayPort;
+    }
+
+    public void setRelayPort(int relayPort) {
+        this.relayPort = relayPort;
+    }
+
+    public String getClientLogin() {
+        return clientLogin;
+    }
+
+    public void setClientLogin(String clientLogin) {
+        this.clientLogin = clientLogin;
+    }
+
+    public String getClientPasscode() {
+        return clientPasscode;
+    }
+
+    public void setClientPasscode(String clientPasscode) {
+        this.clientPasscode = clientPasscode;
+    }
+
+    public String getSystemLogin() {
+        return systemLogin;
+    }
+
+    public void setSystemLogin(String systemLogin) {
+        this.systemLogin = systemLogin;
+    }
+
+    public String getSystemPasscode() {
+        return systemPasscode;
+    }
+
+    public void setSystemPasscode(String systemPasscode) {
+        this.systemPasscode = systemPasscode;
+    }
+
+    public String getVirtualHost() {
+        return virtualHost;
+    }
+
+    public void setVirtualHost(String virtualHost) {
+        this.virtualHost = virtualHost;
+    }
+
+    public long getHeartbeatMs() {
+        return heartbeatMs;
+    }
+
+    public void setHeartbeatMs(long heartbeatMs) {
+        this.heartbeatMs = heartbeatMs;
+    }
+
+    public String getUserDestinationBroadcast() {
+        return userDestinationBroadcast;
+    }
+
+    public void setUserDestinationBroadcast(String userDestinationBroadcast) {
+        this.userDestinationBroadcast = userDestinationBroadcast;
+    }
+
+    public String getUserRegistryBroadcast() {
+        return userRegistryBroadcast;
+    }
+
+    public void setUserRegistryBroadcast(String userRegistryBroadcast) {
+        this.userRegistryBroadcast = userRegistryBroadcast;
+    }
+}
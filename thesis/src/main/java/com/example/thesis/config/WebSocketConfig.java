@@ -1,26 +1,59 @@
 package com.example.thesis.config;
 
+import com.example.thesis.service.SseEventHub;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.lang.NonNull;
 import org.springframework.messaging.simp.config.ChannelRegistration;
 import org.springframework.messaging.simp.config.MessageBrokerRegistry;
+import org.springframework.messaging.simp.config.StompBrokerRelayRegistration;
 import org.springframework.web.socket.config.annotation.EnableWebSocketMessageBroker;
 import org.springframework.web.socket.config.annotation.StompEndpointRegistry;
 import org.springframework.web.socket.config.annotation.WebSocketMessageBrokerConfigurer;
+import org.springframework.web.socket.config.annotation.WebSocketTransportRegistration;
 
 @Configuration
 @EnableWebSocketMessageBroker
 public class WebSocketConfig implements WebSocketMessageBrokerConfigurer {
 
     private final StompJwtChannelInterceptor stompJwtChannelInterceptor;
+    private final WebSocketBrokerProperties brokerProperties;
+    private final WebSocketTransportProperties transportProperties;
+    private final OutboundBackpressureInterceptor outboundBackpressureInterceptor;
+    private final SseEventHub sseEventHub;
 
-    public WebSocketConfig(StompJwtChannelInterceptor stompJwtChannelInterceptor) {
+    public WebSocketConfig(StompJwtChannelInterceptor stompJwtChannelInterceptor,
+                           WebSocketBrokerProperties brokerProperties,
+                           WebSocketTransportProperties transportProperties,
+                           OutboundBackpressureInterceptor outboundBackpressureInterceptor,
+                           SseEventHub sseEventHub) {
         this.stompJwtChannelInterceptor = stompJwtChannelInterceptor;
+        this.brokerProperties = brokerProperties;
+        this.transportProperties = transportProperties;
+        this.outboundBackpressureInterceptor = outboundBackpressureInterceptor;
+        this.sseEventHub = sseEventHub;
     }
 
     @Override
     public void configureMessageBroker(MessageBrokerRegistry config) {
-        config.enableSimpleBroker("/topic", "/queue");
+        if (brokerProperties.isRelay()) {
+            StompBrokerRelayRegistration relay = config.enableStompBrokerRelay("/topic", "/queue")
+                    .setRelayHost(brokerProperties.getRelayHost())
+                    .setRelayPort(brokerProperties.getRelayPort())
+                    .setClientLogin(brokerProperties.getClientLogin())
+                    .setClientPasscode(brokerProperties.getClientPasscode())
+                    .setSystemLogin(brokerProperties.getSystemLogin())
+                    .setSystemPasscode(brokerProperties.getSystemPasscode())
+                    .setSystemHeartbeatSendInterval(brokerProperties.getHeartbeatMs())
+                    .setSystemHeartbeatReceiveInterval(brokerProperties.getHeartbeatMs())
+                    .setUserDestinationBroadcast(brokerProperties.getUserDestinationBroadcast())
+                    .setUserRegistryBroadcast(brokerProperties.getUserRegistryBroadcast());
+            if (brokerProperties.getVirtualHost() != null && !brokerProperties.getVirtualHost().isBlank()) {
+                relay.setVirtualHost(brokerProperties.getVirtualHost());
+            }
+        } else {
+            config.enableSimpleBroker("/topic", "/queue");
+        }
+        config.configureBrokerChannel().interceptors(sseEventHub);
         config.setApplicationDestinationPrefixes("/app");
         config.setUserDestinationPrefix("/user");
     }
@@ -35,8 +68,20 @@ public class WebSocketConfig implements WebSocketMessageBrokerConfigurer {
                 .setAllowedOriginPatterns("*");
     }
 
+    @Override
+    public void configureWebSocketTransport(@NonNull WebSocketTransportRegistration registration) {
+        registration.setSendTimeLimit(transportProperties.getSendTimeLimitMs())
+                .setSendBufferSizeLimit(transportProperties.getSendBufferSizeLimit())
+                .setMessageSizeLimit(transportProperties.getMessageSizeLimit());
+    }
+
     @Override
     public void configureClientInboundChannel(@NonNull ChannelRegistration registration) {
         registration.interceptors(stompJwtChannelInterceptor);
     }
+
+    @Override
+    public void configureClientOutboundChannel(@NonNull ChannelRegistration registration) {
+        registration.interceptors(outboundBackpressureInterceptor);
+    }
 }
\ No newline at end of file
@@ -0,0 +1,57 @@
+package com.example.thesis.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+@Component
+@ConfigurationProperties(prefix = "app.websocket.transport")
+public class WebSocketTransportProperties {
+
+    private int sendTimeLimitMs = 10_000;
+    private int sendBufferSizeLimit = 512 * 1024;
+    private int messageSizeLimit = 64 * 1024;
+    private int maxQueuedPerSession = 100;
+    private List<String> coalescedSuffixes = List.of(".presence", ".typing");
+
+    public int getSendTimeLimitMs() {
+        return sendTimeLimitMs;
+    }
+
+    public void setSendTimeLimitMs(int sendTimeLimitMs) {
+        this.sendTimeLimitMs = sendTimeLimitMs;
+    }
+
+    public int getSendBufferSizeLimit() {
+        return sendBufferSizeLimit;
+    }
+
+    public void setSendBufferSizeLimit(int sendBufferSizeLimit) {
+        this.sendBufferSizeLimit = sendBufferSizeLimit;
+    }
+
+    public int getMessageSizeLimit() {
+        return messageSizeLimit;
+    }
+
+    public void setMessageSizeLimit(int messageSizeLimit) {
+        this.messageSizeLimit = messageSizeLimit;
+    }
+
+    public int getMaxQueuedPerSession() {
+        return maxQueuedPerSession;
+    }
+
+    public void setMaxQueuedPerSession(int maxQueuedPerSession) {
+        this.maxQueuedPerSession = maxQueuedPerSession;
+    }
+
+    public List<String> getCoalescedSuffixes() {
+        return coalescedSuffixes;
+    }
+
+    public void setCoalescedSuffixes(List<String> coalescedSuffixes) {
+        this.coalescedSuffixes = coalescedSuffixes;
+    }
+}
@@ -1,10 +1,14 @@
 package com.example.thesis.controller;
 
+import com.example.thesis.dto.ChatMessageDto;
+import com.example.thesis.dto.ChatMessagePage;
+import com.example.thesis.dto.ChatReadReceipt;
 import com.example.thesis.dto.ChatMessageRequest;
-import com.example.thesis.models.ChatMessage;
+import com.example.thesis.dto.ChatSearchPage;
 import com.example.thesis.security.SecurityUtils;
 import com.example.thesis.service.ChatService;
 import jakarta.validation.Valid;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.ResponseEntity;
 import org.springframework.messaging.handler.annotation.DestinationVariable;
 import org.springframework.messaging.handler.annotation.MessageMapping;
@@ -12,7 +16,9 @@ import org.springframework.messaging.handler.annotation.Payload;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
 
+import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Map;
 import java.util.UUID;
 
 @RestController
@@ -32,16 +38,49 @@ public class ChatController {
     
     @GetMapping("/group/{groupId}")
     @PreAuthorize("hasRole('USER') or hasRole('ADMIN')")
-    public ResponseEntity<List<ChatMessage>> getGroupMessages(@PathVariable UUID groupId) {
-        List<ChatMessage> messages = chatService.getGroupMessages(groupId);
+    public ResponseEntity<List<ChatMessageDto>> getGroupMessages(@PathVariable UUID groupId) {
+        List<ChatMessageDto> messages = chatService.getGroupMessages(groupId);
         return ResponseEntity.ok(messages);
     }
 
+    @GetMapping("/group/{groupId}/history")
+    @PreAuthorize("hasRole('USER') or hasRole('ADMIN')")
+    public ResponseEntity<ChatMessagePage> getGroupMessagesPage(@PathVariable UUID groupId,
+                                                                @RequestParam(required = false) String before,
+                                                                @RequestParam(required = false) String after,
+                                                                @RequestParam(required = false) UUID around,
+                                                                @RequestParam(defaultValue = "50") int limit) {
+        var currentUser = securityUtils.getCurrentUser();
+        return ResponseEntity.ok(chatService.getGroupMessagesPage(groupId, before, after, around, limit, currentUser));
+    }
+
+    @PostMapping("/group/{groupId}/read")
+    @PreAuthorize("hasRole('USER') or hasRole('ADMIN')")
+    public ResponseEntity<ChatReadReceipt> markRead(@PathVariable UUID groupId,
+                                                    @RequestParam(required = false) UUID messageId) {
+        var currentUser = securityUtils.getCurrentUser();
+        return ResponseEntity.ok(chatService.markRead(groupId, messageId, currentUser));
+    }
+
+    @GetMapping("/group/{groupId}/read-receipts")
+    @PreAuthorize("hasRole('USER') or hasRole('ADMIN')")
+    public ResponseEntity<List<ChatReadReceipt>> getReadReceipts(@PathVariable UUID groupId) {
+        var currentUser = securityUtils.getCurrentUser();
+        return ResponseEntity.ok(chatService.getReadReceipts(groupId, currentUser));
+    }
+
+    @GetMapping("/unread")
+    @PreAuthorize("hasRole('USER') or hasRole('ADMIN')")
+    public ResponseEntity<Map<UUID, Integer>> getUnreadCounts() {
+        var currentUser = securityUtils.getCurrentUser();
+        return ResponseEntity.ok(chatService.getUnreadCounts(currentUser));
+    }
+
     @PostMapping("/send")
     @PreAuthorize("hasRole('USER') or hasRole('ADMIN')")
-    public ResponseEntity<ChatMessage> sendMessage(@Valid @RequestBody ChatMessageRequest request) {
+    public ResponseEntity<ChatMessageDto> sendMessage(@Valid @RequestBody ChatMessageRequest request) {
         var currentUser = securityUtils.getCurrentUser();
-        ChatMessage message = chatService.sendMessage(request, currentUser);
+        ChatMessageDto message = chatService.sendMessage(request, currentUser);
         return ResponseEntity.ok(message);
     }
 
@@ -64,26 +103,34 @@ public class ChatController {
 
     @PutMapping("/messages/{messageId}/pin")
     @PreAuthorize("hasRole('USER') or hasRole('ADMIN')")
-    public ResponseEntity<ChatMessage> setMessagePin(@PathVariable UUID messageId,
-                                                     @RequestParam boolean pinned) {
+    public ResponseEntity<ChatMessageDto> setMessagePin(@PathVariable UUID messageId,
+                                                        @RequestParam boolean pinned) {
         var currentUser = securityUtils.getCurrentUser();
-        ChatMessage updated = chatService.setMessagePinned(messageId, pinned, currentUser);
+        ChatMessageDto updated = chatService.setMessagePinned(messageId, pinned, currentUser);
         return ResponseEntity.ok(updated);
     }
 
     @GetMapping("/{messageId}")
     @PreAuthorize("hasRole('USER') or hasRole('ADMIN')")
-    public ResponseEntity<ChatMessage> getMessage(@PathVariable UUID messageId) {
-        ChatMessage message = chatService.getMessage(messageId);
+    public ResponseEntity<ChatMessageDto> getMessage(@PathVariable UUID messageId) {
+        ChatMessageDto message = chatService.getMessage(messageId);
         return ResponseEntity.ok(message);
     }
 
     @GetMapping("/group/{groupId}/search")
     @PreAuthorize("hasRole('USER') or hasRole('ADMIN')")
-    public ResponseEntity<List<ChatMessage>> searchMessages(@PathVariable UUID groupId,
-                                                            @RequestParam String query) {
-        List<ChatMessage> messages = chatService.searchMessages(groupId, query);
-        return ResponseEntity.ok(messages);
+    public ResponseEntity<ChatSearchPage> searchMessages(@PathVariable UUID groupId,
+                                                         @RequestParam String query,
+                                                         @RequestParam(required = false) UUID senderId,
+                                                         @RequestParam(required = false)
+                                                         @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+                                                         @RequestParam(required = false)
+                                                         @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to,
+                                                         @RequestParam(required = false) String kind,
+                                                         @RequestParam(required = false) String cursor,
+                                                         @RequestParam(defaultValue = "20") int limit) {
+        var currentUser = securityUtils.getCurrentUser();
+        return ResponseEntity.ok(chatService.searchMessages(groupId, query, senderId, from, to, kind, cursor, limit, currentUser));
     }
 
     
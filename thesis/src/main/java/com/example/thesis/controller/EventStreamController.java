@@ -0,0 +1,39 @@
+package com.example.thesis.controller;
+
+import com.example.thesis.security.SecurityUtils;
+import com.example.thesis.service.SseEventHub;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.CrossOrigin;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+@RestController
+@RequestMapping("/api/events")
+@CrossOrigin(origins = "*", maxAge = 3600)
+public class EventStreamController {
+
+    private final SseEventHub sseEventHub;
+    private final SecurityUtils securityUtils;
+
+    public EventStreamController(SseEventHub sseEventHub, SecurityUtils securityUtils) {
+        this.sseEventHub = sseEventHub;
+        this.securityUtils = securityUtils;
+    }
+
+    @GetMapping(value = "/stream", produces = "text/event-stream")
+    @PreAuthorize("hasRole('USER') or hasRole('ADMIN')")
+    public ResponseEntity<SseEmitter> stream(@RequestHeader(value = "Last-Event-ID", required = false) String lastEventId,
+                                             @RequestParam(required = false) String since) {
+        var currentUser = securityUtils.getCurrentUser();
+        SseEmitter emitter = sseEventHub.subscribe(currentUser.getId(), lastEventId != null ? lastEventId : since);
+        return ResponseEntity.ok()
+                .header("Cache-Control", "no-cache")
+                .header("X-Accel-Buffering", "no")
+                .body(emitter);
+    }
+}
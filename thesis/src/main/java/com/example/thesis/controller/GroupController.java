@@ -5,7 +5,6 @@ import com.example.thesis.dto.GroupDTO;
 import com.example.thesis.dto.GroupMembershipPrefsRequest;
 import com.example.thesis.dto.GroupUpdateRequest;
 import com.example.thesis.dto.GroupWithStats;
-import com.example.thesis.repository.MembershipRepository;
 import com.example.thesis.models.FileMetadata;
 import com.example.thesis.models.User;
 import com.example.thesis.models.WorkGroup;
@@ -19,7 +18,6 @@ import org.springframework.web.bind.annotation.*;
 
 import java.util.*;
 import java.util.stream.Collectors;
-import java.util.Comparator;
 
 @RestController
 @RequestMapping("/api/group")
@@ -29,14 +27,11 @@ public class GroupController {
     private final GroupService groupService;
     private final SecurityUtils securityUtils;
     private final FileServiceImpl fileService;
-    private final MembershipRepository membershipRepository;
 
-    public GroupController(GroupService groupService, SecurityUtils securityUtils, FileServiceImpl fileService,
-                           MembershipRepository membershipRepository) {
+    public GroupController(GroupService groupService, SecurityUtils securityUtils, FileServiceImpl fileService) {
         this.groupService = groupService;
         this.securityUtils = securityUtils;
         this.fileService = fileService;
-        this.membershipRepository = membershipRepository;
     }
 
     @PostMapping
@@ -60,28 +55,7 @@ public class GroupController {
         User currentUser = securityUtils.getCurrentUser();
         System.out.println("[INFO] Getting groups for user: " + currentUser.getUsername());
 
-        List<WorkGroup> groups = groupService.getUserGroups(currentUser.getId());
-
-        
-        List<GroupWithStats> dtos = new ArrayList<>();
-        for (WorkGroup group : groups) {
-            
-            int memberCount = group.getMemberships() != null ? group.getMemberships().size() : 0;
-
-            
-            int fileCount = 0;
-            if (group.getFiles() != null) {
-                fileCount = (int) group.getFiles().stream()
-                        .filter(f -> !f.isDeleted())
-                        .count();
-            }
-
-            var mem = membershipRepository.findByUserIdAndGroupId(currentUser.getId(), group.getId()).orElse(null);
-            dtos.add(GroupWithStats.fromEntity(group, memberCount, fileCount, mem));
-        }
-
-        dtos.sort(Comparator.comparing(GroupWithStats::isPinned).reversed()
-                .thenComparing(GroupWithStats::getName, String.CASE_INSENSITIVE_ORDER));
+        List<GroupWithStats> dtos = groupService.getUserGroupsWithStats(currentUser.getId());
 
         System.out.println("[INFO] Found " + dtos.size() + " groups for user: " + currentUser.getUsername());
 
@@ -31,14 +31,15 @@ public class GroupPresenceController {
 
     @GetMapping("/{groupId}/online")
     @PreAuthorize("hasRole('USER') or hasRole('ADMIN')")
-    public ResponseEntity<Map<String, List<String>>> getOnlineUsers(@PathVariable UUID groupId) {
+    public ResponseEntity<Map<String, Object>> getOnlineUsers(@PathVariable UUID groupId) {
         var user = securityUtils.getCurrentUser();
         if (!membershipRepository.isUserMemberOfGroup(user.getId(), groupId)) {
             return ResponseEntity.status(403).build();
         }
+        long seq = presenceService.getSequence(groupId);
         List<String> ids = presenceService.getOnlineUserIds(groupId).stream()
                 .map(UUID::toString)
                 .collect(Collectors.toList());
-        return ResponseEntity.ok(Map.of("userIds", ids));
+        return ResponseEntity.ok(Map.of("userIds", ids, "seq", seq, "node", presenceService.getNodeId()));
     }
 }
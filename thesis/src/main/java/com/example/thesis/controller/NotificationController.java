@@ -1,6 +1,8 @@
 package com.example.thesis.controller;
 
+import com.example.thesis.dto.NotificationPage;
 import com.example.thesis.models.Notification;
+import com.example.thesis.models.enums.NotificationType;
 import com.example.thesis.security.SecurityUtils;
 import com.example.thesis.service.NotificationService;
 import org.springframework.http.ResponseEntity;
@@ -40,6 +42,18 @@ public class NotificationController {
         return ResponseEntity.ok(notifications);
     }
 
+    @GetMapping("/page")
+    @PreAuthorize("hasRole('USER') or hasRole('ADMIN')")
+    public ResponseEntity<NotificationPage> getNotificationPage(@RequestParam(required = false) NotificationType type,
+                                                                @RequestParam(required = false) UUID groupId,
+                                                                @RequestParam(required = false) Boolean read,
+                                                                @RequestParam(required = false) String cursor,
+                                                                @RequestParam(defaultValue = "20") int limit) {
+        var currentUser = securityUtils.getCurrentUser();
+        return ResponseEntity.ok(notificationService.getNotificationPage(
+                currentUser.getId(), type, groupId, read, cursor, limit));
+    }
+
     @GetMapping("/count")
     @PreAuthorize("hasRole('USER') or hasRole('ADMIN')")
     public ResponseEntity<NotificationCount> getUnreadCount() {
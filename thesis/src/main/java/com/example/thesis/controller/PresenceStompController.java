@@ -1,10 +1,12 @@
 package com.example.thesis.controller;
 
-import com.example.thesis.repository.MembershipRepository;
-import com.example.thesis.security.SecurityUtils;
 import com.example.thesis.service.PresenceService;
+import com.example.thesis.service.PresenceSessionTracker;
+import com.example.thesis.service.TypingService;
 import org.springframework.messaging.handler.annotation.DestinationVariable;
 import org.springframework.messaging.handler.annotation.MessageMapping;
+import org.springframework.messaging.handler.annotation.Payload;
+import org.springframework.messaging.simp.SimpMessageHeaderAccessor;
 import org.springframework.stereotype.Controller;
 
 import java.util.UUID;
@@ -13,26 +15,43 @@ import java.util.UUID;
 public class PresenceStompController {
 
     private final PresenceService presenceService;
-    private final SecurityUtils securityUtils;
-    private final MembershipRepository membershipRepository;
+    private final TypingService typingService;
+    private final PresenceSessionTracker sessionTracker;
 
     public PresenceStompController(PresenceService presenceService,
-                                   SecurityUtils securityUtils,
-                                   MembershipRepository membershipRepository) {
+                                   TypingService typingService,
+                                   PresenceSessionTracker sessionTracker) {
         this.presenceService = presenceService;
-        this.securityUtils = securityUtils;
-        this.membershipRepository = membershipRepository;
+        this.typingService = typingService;
+        this.sessionTracker = sessionTracker;
+    }
+
+    @MessageMapping("/presence.ping")
+    public void keepalive(SimpMessageHeaderAccessor accessor) {
+        sessionTracker.keepalive(accessor.getSessionId());
     }
 
     @MessageMapping("/presence.ping/{groupId}")
-    public void ping(@DestinationVariable UUID groupId) {
-        var user = securityUtils.getCurrentUser();
-        if (user == null) {
-            return;
+    public void ping(@DestinationVariable UUID groupId, SimpMessageHeaderAccessor accessor) {
+        UUID userId = sessionTracker.memberId(accessor.getSessionId(), accessor.getUser(), groupId);
+        if (userId != null) {
+            presenceService.heartbeat(groupId, userId);
         }
-        if (!membershipRepository.isUserMemberOfGroup(user.getId(), groupId)) {
-            return;
+    }
+
+    @MessageMapping("/typing/{groupId}")
+    public void typing(@DestinationVariable UUID groupId, @Payload(required = false) TypingRequest request,
+                       SimpMessageHeaderAccessor accessor) {
+        UUID userId = sessionTracker.memberId(accessor.getSessionId(), accessor.getUser(), groupId);
+        if (userId != null) {
+            typingService.update(groupId, userId, request == null || request.isTyping());
         }
-        presenceService.heartbeat(groupId, user.getId());
+    }
+
+    static class TypingRequest {
+        private boolean typing = true;
+
+        public boolean isTyping() { return typing; }
+        public void setTyping(boolean typing) { this.typing = typing; }
     }
 }
@@ -1,5 +1,6 @@
 package com.example.thesis.controller;
 
+import com.example.thesis.config.OutboundBackpressureInterceptor;
 import com.example.thesis.models.WorkGroup;
 import com.example.thesis.repository.FileMetadataRepository;
 import com.example.thesis.security.SecurityUtils;
@@ -22,14 +23,17 @@ public class StatsController {
     private final SecurityUtils securityUtils;
     private final NotificationService notificationService;
     private final FileMetadataRepository fileMetadataRepository;
+    private final OutboundBackpressureInterceptor outboundBackpressure;
 
     public StatsController(GroupService groupService, FileService fileService, SecurityUtils securityUtils,
-                           NotificationService notificationService, FileMetadataRepository fileMetadataRepository) {
+                           NotificationService notificationService, FileMetadataRepository fileMetadataRepository,
+                           OutboundBackpressureInterceptor outboundBackpressure) {
         this.groupService = groupService;
         this.fileService = fileService;
         this.securityUtils = securityUtils;
         this.notificationService = notificationService;
         this.fileMetadataRepository = fileMetadataRepository;
+        this.outboundBackpressure = outboundBackpressure;
     }
 
     @GetMapping("/user")
@@ -44,6 +48,12 @@ public class StatsController {
         return ResponseEntity.ok(buildUserStats(securityUtils.getCurrentUser().getId()));
     }
 
+    @GetMapping("/websocket")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<Map<String, Object>> getWebSocketStats() {
+        return ResponseEntity.ok(outboundBackpressure.snapshot());
+    }
+
     private Map<String, Object> buildUserStats(UUID userId) {
         List<WorkGroup> groups = groupService.getUserGroups(userId);
 
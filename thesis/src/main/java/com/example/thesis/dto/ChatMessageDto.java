@@ -0,0 +1,242 @@
+package com.example.thesis.dto;
+
+import com.example.thesis.models.ChatMessage;
+import com.example.thesis.models.FileMetadata;
+import com.example.thesis.models.User;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+public class ChatMessageDto {
+    private UUID id;
+    private UUID groupId;
+    private String content;
+    private String messageKind;
+    private LocalDateTime timestamp;
+    private boolean edited;
+    private LocalDateTime editTimestamp;
+    private UUID replyToId;
+    private boolean pinned;
+    private LocalDateTime pinnedAt;
+    private Sender sender;
+    private Attachment attachment;
+
+    public ChatMessageDto() {
+    }
+
+    public ChatMessageDto(UUID id, UUID groupId, String content, String messageKind, LocalDateTime timestamp,
+                          boolean edited, LocalDateTime editTimestamp, UUID replyToId,
+                          boolean pinned, LocalDateTime pinnedAt,
+                          UUID senderId, String senderUsername, String senderFirstName, String senderLastName,
+                          String senderAvatarStoredName,
+                          UUID attachmentId, String attachmentName, Long attachmentSize, String attachmentMimeType) {
+        this.id = id;
+        this.groupId = groupId;
+        this.content = content;
+        this.messageKind = messageKind;
+        this.timestamp = timestamp;
+        this.edited = edited;
+        this.editTimestamp = editTimestamp;
+        this.replyToId = replyToId;
+        this.pinned = pinned;
+        this.pinnedAt = pinnedAt;
+        this.sender = new Sender(senderId, senderUsername, senderFirstName, senderLastName,
+                avatarVersion(senderAvatarStoredName));
+        this.attachment = attachmentId != null
+                ? new Attachment(attachmentId, attachmentName, attachmentSize, attachmentMimeType)
+                : null;
+    }
+
+    public static ChatMessageDto from(ChatMessage m) {
+        User s = m.getSender();
+        FileMetadata a = m.getAttachment();
+        return new ChatMessageDto(m.getId(), m.getGroupId(), m.getContent(), m.getMessageKind(), m.getTimestamp(),
+                m.isEdited(), m.getEditTimestamp(), m.getReplyToId(), m.isPinned(), m.getPinnedAt(),
+                s.getId(), s.getUsername(), s.getFirstName(), s.getLastName(), s.getAvatarStoredName(),
+                a != null ? a.getId() : null,
+                a != null ? a.getOriginalName() : null,
+                a != null ? a.getFileSize() : null,
+                a != null ? a.getMimeType() : null);
+    }
+
+    private static String avatarVersion(String storedName) {
+        if (storedName == null || storedName.isBlank()) {
+            return null;
+        }
+        int dot = storedName.indexOf('.');
+        String base = dot > 0 ? storedName.substring(0, dot) : storedName;
+        return base.length() > 8 ? base.substring(0, 8) : base;
+    }
+
+    public UUID getId() {
+        return id;
+    }
+
+    public void setId(UUID id) {
+        this.id = id;
+    }
+
+    public UUID getGroupId() {
+        return groupId;
+    }
+
+    public void setGroupId(UUID groupId) {
+        this.groupId = groupId;
+    }
+
+    public String getContent() {
+        return content;
+    }
+
+    public void setContent(String content) {
+        this.content = content;
+    }
+
+    public String getMessageKind() {
+        return messageKind;
+    }
+
+    public void setMessageKind(String messageKind) {
+        this.messageKind = messageKind;
+    }
+
+    public LocalDateTime getTimestamp() {
+        return timestamp;
+    }
+
+    public void setTimestamp(LocalDateTime timestamp) {
+        this.timestamp = timestamp;
+    }
+
+    public boolean isEdited() {
+        return edited;
+    }
+
+    public void setEdited(boolean edited) {
+        this.edited = edited;
+    }
+
+    public LocalDateTime getEditTimestamp() {
+        return editTimestamp;
+    }
+
+    public void setEditTimestamp(LocalDateTime editTimestamp) {
+        this.editTimestamp = editTimestamp;
+    }
+
+    public UUID getReplyToId() {
+        return replyToId;
+    }
+
+    public void setReplyToId(UUID replyToId) {
+        this.replyToId = replyToId;
+    }
+
+    public boolean isPinned() {
+        return pinned;
+    }
+
+    public void setPinned(boolean pinned) {
+        this.pinned = pinned;
+    }
+
+    public LocalDateTime getPinnedAt() {
+        return pinnedAt;
+    }
+
+    public void setPinnedAt(LocalDateTime pinnedAt) {
+        this.pinnedAt = pinnedAt;
+    }
+
+    public Sender getSender() {
+        return sender;
+    }
+
+    public void setSender(Sender sender) {
+        this.sender = sender;
+    }
+
+    public Attachment getAttachment() {
+        return attachment;
+    }
+
+    public void setAttachment(Attachment attachment) {
+        this.attachment = attachment;
+    }
+
+    public static class Sender {
+        private UUID id;
+        private String username;
+        private String firstName;
+        private String lastName;
+        private String avatarVersion;
+
+        public Sender() {
+        }
+
+        public Sender(UUID id, String username, String firstName, String lastName, String avatarVersion) {
+            this.id = id;
+            this.username = username;
+            this.firstName = firstName;
+            this.lastName = lastName;
+            this.avatarVersion = avatarVersion;
+        }
+
+        public UUID getId() {
+            return id;
+        }
+
+        public String getUsername() {
+            return username;
+        }
+
+        public String getFirstName() {
+            return firstName;
+        }
+
+        public String getLastName() {
+            return lastName;
+        }
+
+        public String getAvatarVersion() {
+            return avatarVersion;
+        }
+
+        public String getAvatarUrl() {
+            return avatarVersion != null ? "/api/user/avatar/" + id + "?v=" + avatarVersion : null;
+        }
+    }
+
+    public static class Attachment {
+        private UUID id;
+        private String originalName;
+        private Long fileSize;
+        private String mimeType;
+
+        public Attachment() {
+        }
+
+        public Attachment(UUID id, String originalName, Long fileSize, String mimeType) {
+            this.id = id;
+            this.originalName = originalName;
+            this.fileSize = fileSize;
+            this.mimeType = mimeType;
+        }
+
+        public UUID getId() {
+            return id;
+        }
+
+        public String getOriginalName() {
+            return originalName;
+        }
+
+        public Long getFileSize() {
+            return fileSize;
+        }
+
+        public String getMimeType() {
+            return mimeType;
+        }
+    }
+}
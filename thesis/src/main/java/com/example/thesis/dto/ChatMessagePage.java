@@ -0,0 +1,63 @@
+package com.example.thesis.dto;
+
+import java.util.List;
+
+public class ChatMessagePage {
+    private List<ChatMessageDto> messages;
+    private String olderCursor;
+    private String newerCursor;
+    private boolean hasOlder;
+    private boolean hasNewer;
+
+    public ChatMessagePage() {
+    }
+
+    public ChatMessagePage(List<ChatMessageDto> messages, String olderCursor, String newerCursor,
+                           boolean hasOlder, boolean hasNewer) {
+        this.messages = messages;
+        this.olderCursor = olderCursor;
+        this.newerCursor = newerCursor;
+        this.hasOlder = hasOlder;
+        this.hasNewer = hasNewer;
+    }
+
+    public List<ChatMessageDto> getMessages() {
+        return messages;
+    }
+
+    public void setMessages(List<ChatMessageDto> messages) {
+        this.messages = messages;
+    }
+
+    public String getOlderCursor() {
+        return olderCursor;
+    }
+
+    public void setOlderCursor(String olderCursor) {
+        this.olderCursor = olderCursor;
+    }
+
+    public String getNewerCursor() {
+        return newerCursor;
+    }
+
+    public void setNewerCursor(String newerCursor) {
+        this.newerCursor = newerCursor;
+    }
+
+    public boolean isHasOlder() {
+        return hasOlder;
+    }
+
+    public void setHasOlder(boolean hasOlder) {
+        this.hasOlder = hasOlder;
+    }
+
+    public boolean isHasNewer() {
+        return hasNewer;
+    }
+
+    public void setHasNewer(boolean hasNewer) {
+        this.hasNewer = hasNewer;
+    }
+}
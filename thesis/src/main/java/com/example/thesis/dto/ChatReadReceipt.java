@@ -0,0 +1,43 @@
+package com.example.thesis.dto;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+public class ChatReadReceipt {
+    private UUID userId;
+    private UUID lastReadMessageId;
+    private LocalDateTime lastReadAt;
+
+    public ChatReadReceipt() {
+    }
+
+    public ChatReadReceipt(UUID userId, UUID lastReadMessageId, LocalDateTime lastReadAt) {
+        this.userId = userId;
+        this.lastReadMessageId = lastReadMessageId;
+        this.lastReadAt = lastReadAt;
+    }
+
+    public UUID getUserId() {
+        return userId;
+    }
+
+    public void setUserId(UUID userId) {
+        this.userId = userId;
+    }
+
+    public UUID getLastReadMessageId() {
+        return lastReadMessageId;
+    }
+
+    public void setLastReadMessageId(UUID lastReadMessageId) {
+        this.lastReadMessageId = lastReadMessageId;
+    }
+
+    public LocalDateTime getLastReadAt() {
+        return lastReadAt;
+    }
+
+    public void setLastReadAt(LocalDateTime lastReadAt) {
+        this.lastReadAt = lastReadAt;
+    }
+}
@@ -0,0 +1,30 @@
+package com.example.thesis.dto;
+
+public class ChatSearchHit {
+    private ChatMessageDto message;
+    private String highlight;
+
+    public ChatSearchHit() {
+    }
+
+    public ChatSearchHit(ChatMessageDto message, String highlight) {
+        this.message = message;
+        this.highlight = highlight;
+    }
+
+    public ChatMessageDto getMessage() {
+        return message;
+    }
+
+    public void setMessage(ChatMessageDto message) {
+        this.message = message;
+    }
+
+    public String getHighlight() {
+        return highlight;
+    }
+
+    public void setHighlight(String highlight) {
+        this.highlight = highlight;
+    }
+}
@@ -0,0 +1,42 @@
+package com.example.thesis.dto;
+
+import java.util.List;
+
+public class ChatSearchPage {
+    private List<ChatSearchHit> hits;
+    private String nextCursor;
+    private boolean hasMore;
+
+    public ChatSearchPage() {
+    }
+
+    public ChatSearchPage(List<ChatSearchHit> hits, String nextCursor, boolean hasMore) {
+        this.hits = hits;
+        this.nextCursor = nextCursor;
+        this.hasMore = hasMore;
+    }
+
+    public List<ChatSearchHit> getHits() {
+        return hits;
+    }
+
+    public void setHits(List<ChatSearchHit> hits) {
+        this.hits = hits;
+    }
+
+    public String getNextCursor() {
+        return nextCursor;
+    }
+
+    public void setNextCursor(String nextCursor) {
+        this.nextCursor = nextCursor;
+    }
+
+    public boolean isHasMore() {
+        return hasMore;
+    }
+
+    public void setHasMore(boolean hasMore) {
+        this.hasMore = hasMore;
+    }
+}
@@ -14,6 +14,23 @@ public class FileRevisionDto {
     private UUID createdById;
     private String createdByUsername;
 
+    public FileRevisionDto() {
+    }
+
+    public FileRevisionDto(UUID id, int fileVersionSnapshot, long sizeBytes, String mimeType,
+                           String originalNameSnapshot, boolean hasTextSnapshot, LocalDateTime createdAt,
+                           UUID createdById, String createdByUsername) {
+        this.id = id;
+        this.fileVersionSnapshot = fileVersionSnapshot;
+        this.sizeBytes = sizeBytes;
+        this.mimeType = mimeType;
+        this.originalNameSnapshot = originalNameSnapshot;
+        this.hasTextSnapshot = hasTextSnapshot;
+        this.createdAt = createdAt;
+        this.createdById = createdById;
+        this.createdByUsername = createdByUsername;
+    }
+
     public UUID getId() {
         return id;
     }
@@ -1,6 +1,5 @@
 package com.example.thesis.dto;
 
-import com.example.thesis.models.Membership;
 import com.example.thesis.models.User;
 
 import java.time.LocalDateTime;
@@ -141,24 +140,19 @@ public class GroupWithStats {
     public GroupWithStats() {
     }
 
-    public static GroupWithStats fromEntity(com.example.thesis.models.WorkGroup group,
-                                            int memberCount,
-                                            int fileCount,
-                                            Membership forCurrentUser) {
-        GroupWithStats dto = new GroupWithStats();
-        dto.setId(group.getId());
-        dto.setName(group.getName());
-        dto.setDescription(group.getDescription());
-        dto.setCreationDate(group.getCreationDate());
-        dto.setCreatorUsername(group.getCreator() != null ? group.getCreator().getUsername() : "Unknown");
-        dto.setMemberCount(memberCount);
-        dto.setFileCount(fileCount);
-        if (forCurrentUser != null) {
-            dto.setNotificationsMuted(forCurrentUser.isNotificationsMuted());
-            dto.setPinned(forCurrentUser.isPinned());
-            dto.setAccentColor(forCurrentUser.getAccentColor());
-        }
-        dto.setCoverFileId(group.getCoverFileId());
-        return dto;
+    public GroupWithStats(UUID id, String name, String description, LocalDateTime creationDate,
+                          String creatorUsername, Long memberCount, Long fileCount,
+                          boolean notificationsMuted, boolean pinned, String accentColor, UUID coverFileId) {
+        this.id = id;
+        this.name = name;
+        this.description = description;
+        this.creationDate = creationDate;
+        this.creatorUsername = creatorUsername != null ? creatorUsername : "Unknown";
+        this.memberCount = memberCount != null ? memberCount.intValue() : 0;
+        this.fileCount = fileCount != null ? fileCount.intValue() : 0;
+        this.notificationsMuted = notificationsMuted;
+        this.pinned = pinned;
+        this.accentColor = accentColor;
+        this.coverFileId = coverFileId;
     }
 }
\ No newline at end of file
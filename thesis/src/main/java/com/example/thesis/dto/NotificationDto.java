@@ -0,0 +1,115 @@
+package com.example.thesis.dto;
+
+import com.example.thesis.models.enums.NotificationType;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+public class NotificationDto {
+    private UUID id;
+    private NotificationType type;
+    private String message;
+    private LocalDateTime createdDate;
+    private boolean read;
+    private LocalDateTime readDate;
+    private Group group;
+
+    public NotificationDto() {
+    }
+
+    public NotificationDto(UUID id, NotificationType type, String message, LocalDateTime createdDate,
+                           boolean read, LocalDateTime readDate, UUID groupId, String groupName) {
+        this.id = id;
+        this.type = type;
+        this.message = message;
+        this.createdDate = createdDate;
+        this.read = read;
+        this.readDate = readDate;
+        this.group = groupId != null ? new Group(groupId, groupName) : null;
+    }
+
+    public UUID getId() {
+        return id;
+    }
+
+    public void setId(UUID id) {
+        this.id = id;
+    }
+
+    public NotificationType getType() {
+        return type;
+    }
+
+    public void setType(NotificationType type) {
+        this.type = type;
+    }
+
+    public String getMessage() {
+        return message;
+    }
+
+    public void setMessage(String message) {
+        this.message = message;
+    }
+
+    public LocalDateTime getCreatedDate() {
+        return createdDate;
+    }
+
+    public void setCreatedDate(LocalDateTime createdDate) {
+        this.createdDate = createdDate;
+    }
+
+    public boolean isRead() {
+        return read;
+    }
+
+    public void setRead(boolean read) {
+        this.read = read;
+    }
+
+    public LocalDateTime getReadDate() {
+        return readDate;
+    }
+
+    public void setReadDate(LocalDateTime readDate) {
+        this.readDate = readDate;
+    }
+
+    public Group getGroup() {
+        return group;
+    }
+
+    public void setGroup(Group group) {
+        this.group = group;
+    }
+
+    public static class Group {
+        private UUID id;
+        private String name;
+
+        public Group() {
+        }
+
+        public Group(UUID id, String name) {
+            this.id = id;
+            this.name = name;
+        }
+
+        public UUID getId() {
+            return id;
+        }
+
+        public void setId(UUID id) {
+            this.id = id;
+        }
+
+        public String getName() {
+            return name;
+        }
+
+        public void setName(String name) {
+            this.name = name;
+        }
+    }
+}
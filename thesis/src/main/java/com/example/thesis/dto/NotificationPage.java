@@ -0,0 +1,42 @@
+package com.example.thesis.dto;
+
+import java.util.List;
+
+public class NotificationPage {
+    private List<NotificationDto> items;
+    private String nextCursor;
+    private boolean hasMore;
+
+    public NotificationPage() {
+    }
+
+    public NotificationPage(List<NotificationDto> items, String nextCursor, boolean hasMore) {
+        this.items = items;
+        this.nextCursor = nextCursor;
+        this.hasMore = hasMore;
+    }
+
+    public List<NotificationDto> getItems() {
+        return items;
+    }
+
+    public void setItems(List<NotificationDto> items) {
+        this.items = items;
+    }
+
+    public String getNextCursor() {
+        return nextCursor;
+    }
+
+    public void setNextCursor(String nextCursor) {
+        this.nextCursor = nextCursor;
+    }
+
+    public boolean isHasMore() {
+        return hasMore;
+    }
+
+    public void setHasMore(boolean hasMore) {
+        this.hasMore = hasMore;
+    }
+}
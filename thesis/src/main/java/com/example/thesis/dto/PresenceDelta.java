@@ -0,0 +1,53 @@
+package com.example.thesis.dto;
+
+import java.util.List;
+import java.util.UUID;
+
+public class PresenceDelta {
+    private String node;
+    private long seq;
+    private List<UUID> joined;
+    private List<UUID> left;
+
+    public PresenceDelta() {
+    }
+
+    public PresenceDelta(String node, long seq, List<UUID> joined, List<UUID> left) {
+        this.node = node;
+        this.seq = seq;
+        this.joined = joined;
+        this.left = left;
+    }
+
+    public String getNode() {
+        return node;
+    }
+
+    public void setNode(String node) {
+        this.node = node;
+    }
+
+    public long getSeq() {
+        return seq;
+    }
+
+    public void setSeq(long seq) {
+        this.seq = seq;
+    }
+
+    public List<UUID> getJoined() {
+        return joined;
+    }
+
+    public void setJoined(List<UUID> joined) {
+        this.joined = joined;
+    }
+
+    public List<UUID> getLeft() {
+        return left;
+    }
+
+    public void setLeft(List<UUID> left) {
+        this.left = left;
+    }
+}
@@ -9,7 +9,10 @@ import java.util.Objects;
 import java.util.UUID;
 
 @Entity
-@Table(name = "chat_messages")
+@Table(name = "chat_messages", indexes = {
+        @Index(name = "idx_chat_messages_group_ts_id", columnList = "group_id, timestamp, id"),
+        @Index(name = "idx_chat_messages_ts", columnList = "timestamp")
+})
 public class ChatMessage {
 
     @Id
@@ -41,8 +41,8 @@ public class FileContentRevision {
     @Column(name = "original_name_snapshot", nullable = false, length = 512)
     private String originalNameSnapshot;
 
-    @Column(name = "text_snapshot", columnDefinition = "TEXT")
-    private String textSnapshot;
+    @Column(name = "has_text_snapshot", nullable = false, columnDefinition = "boolean default false")
+    private boolean hasTextSnapshot = false;
 
     @JsonIgnoreProperties({"hibernateLazyInitializer", "handler"})
     @ManyToOne(fetch = FetchType.LAZY, optional = false)
@@ -117,12 +117,12 @@ public class FileContentRevision {
         this.originalNameSnapshot = originalNameSnapshot;
     }
 
-    public String getTextSnapshot() {
-        return textSnapshot;
+    public boolean isHasTextSnapshot() {
+        return hasTextSnapshot;
     }
 
-    public void setTextSnapshot(String textSnapshot) {
-        this.textSnapshot = textSnapshot;
+    public void setHasTextSnapshot(boolean hasTextSnapshot) {
+        this.hasTextSnapshot = hasTextSnapshot;
     }
 
     public User getCreatedBy() {
@@ -4,6 +4,7 @@ import com.example.thesis.models.enums.StorageBackend;
 import com.fasterxml.jackson.annotation.JsonIgnore;
 import jakarta.persistence.*;
 import org.hibernate.annotations.CreationTimestamp;
+import org.hibernate.annotations.DynamicUpdate;
 
 import java.time.LocalDateTime;
 import java.util.HashSet;
@@ -12,7 +13,10 @@ import java.util.Set;
 import java.util.UUID;
 
 @Entity
-@Table(name = "file_metadata")
+@DynamicUpdate
+@Table(name = "file_metadata", indexes = {
+        @Index(name = "idx_file_metadata_group_deleted", columnList = "group_id, is_deleted")
+})
 public class FileMetadata {
 
     @Id
@@ -44,6 +48,10 @@ public class FileMetadata {
     @Column(name = "last_modified")
     private LocalDateTime lastModified;
 
+    @JsonIgnore
+    @Column(name = "last_accessed_at")
+    private LocalDateTime lastAccessedAt;
+
     
     @Version
     @Column(name = "version", nullable = false)
@@ -170,6 +178,14 @@ public class FileMetadata {
         this.lastModified = lastModified;
     }
 
+    public LocalDateTime getLastAccessedAt() {
+        return lastAccessedAt;
+    }
+
+    public void setLastAccessedAt(LocalDateTime lastAccessedAt) {
+        this.lastAccessedAt = lastAccessedAt;
+    }
+
     public Integer getVersion() {
         return version;
     }
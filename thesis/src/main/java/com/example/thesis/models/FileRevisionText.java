@@ -0,0 +1,71 @@
+package com.example.thesis.models;
+
+import jakarta.persistence.*;
+import org.hibernate.annotations.CreationTimestamp;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+@Entity
+@Table(name = "file_revision_text")
+public class FileRevisionText {
+
+    @Id
+    @Column(name = "revision_id")
+    private UUID revisionId;
+
+    @MapsId
+    @OneToOne(fetch = FetchType.LAZY, optional = false)
+    @JoinColumn(name = "revision_id")
+    private FileContentRevision revision;
+
+    @Column(name = "compressed_text", nullable = false, columnDefinition = "bytea")
+    private byte[] compressedText;
+
+    @Column(name = "char_length", nullable = false)
+    private int charLength;
+
+    @CreationTimestamp
+    @Column(name = "created_at", nullable = false, updatable = false)
+    private LocalDateTime createdAt;
+
+    public UUID getRevisionId() {
+        return revisionId;
+    }
+
+    public void setRevisionId(UUID revisionId) {
+        this.revisionId = revisionId;
+    }
+
+    public FileContentRevision getRevision() {
+        return revision;
+    }
+
+    public void setRevision(FileContentRevision revision) {
+        this.revision = revision;
+    }
+
+    public byte[] getCompressedText() {
+        return compressedText;
+    }
+
+    public void setCompressedText(byte[] compressedText) {
+        this.compressedText = compressedText;
+    }
+
+    public int getCharLength() {
+        return charLength;
+    }
+
+    public void setCharLength(int charLength) {
+        this.charLength = charLength;
+    }
+
+    public LocalDateTime getCreatedAt() {
+        return createdAt;
+    }
+
+    public void setCreatedAt(LocalDateTime createdAt) {
+        this.createdAt = createdAt;
+    }
+}
@@ -5,15 +5,20 @@ import com.fasterxml.jackson.annotation.JsonBackReference;
 import com.fasterxml.jackson.annotation.JsonIgnore;
 import jakarta.persistence.*;
 import org.hibernate.annotations.CreationTimestamp;
+import org.hibernate.annotations.DynamicUpdate;
 
 import java.time.LocalDateTime;
 import java.util.Objects;
 import java.util.UUID;
 
 @Entity
+@DynamicUpdate
 @Table(name = "memberships",
         uniqueConstraints = {
                 @UniqueConstraint(columnNames = {"user_id", "group_id"})
+        },
+        indexes = {
+                @Index(name = "idx_memberships_group", columnList = "group_id")
         })
 public class Membership {
 
@@ -49,6 +54,15 @@ public class Membership {
     @Column(name = "accent_color", length = 32)
     private String accentColor;
 
+    @Column(name = "last_read_message_id")
+    private UUID lastReadMessageId;
+
+    @Column(name = "last_read_at")
+    private LocalDateTime lastReadAt;
+
+    @Column(name = "unread_count", nullable = false, columnDefinition = "integer not null default 0")
+    private int unreadCount = 0;
+
     public Membership() {
     }
 
@@ -130,6 +144,30 @@ public class Membership {
         return role == MembershipRole.ADMIN || role == MembershipRole.CREATOR;
     }
 
+    public UUID getLastReadMessageId() {
+        return lastReadMessageId;
+    }
+
+    public void setLastReadMessageId(UUID lastReadMessageId) {
+        this.lastReadMessageId = lastReadMessageId;
+    }
+
+    public LocalDateTime getLastReadAt() {
+        return lastReadAt;
+    }
+
+    public void setLastReadAt(LocalDateTime lastReadAt) {
+        this.lastReadAt = lastReadAt;
+    }
+
+    public int getUnreadCount() {
+        return unreadCount;
+    }
+
+    public void setUnreadCount(int unreadCount) {
+        this.unreadCount = unreadCount;
+    }
+
     @Override
     public boolean equals(Object o) {
         if (this == o) return true;
@@ -10,7 +10,10 @@ import java.util.Objects;
 import java.util.UUID;
 
 @Entity
-@Table(name = "notifications")
+@Table(name = "notifications", indexes = {
+        @Index(name = "idx_notifications_user_created", columnList = "user_id, created_date, id"),
+        @Index(name = "idx_notifications_created", columnList = "created_date")
+})
 public class Notification {
 
     @Id
@@ -1,6 +1,7 @@
 package com.example.thesis.models;
 
 import com.example.thesis.models.enums.Role;
+import com.example.thesis.models.enums.StorageBackend;
 import com.fasterxml.jackson.annotation.JsonIgnore;
 import com.fasterxml.jackson.annotation.JsonManagedReference;
 import jakarta.persistence.*;
@@ -44,6 +45,11 @@ public class User {
     @Column(name = "avatar_stored_name", length = 255)
     private String avatarStoredName;
 
+    @JsonIgnore
+    @Enumerated(EnumType.STRING)
+    @Column(name = "avatar_storage_backend", nullable = false, length = 32, columnDefinition = "varchar(32) default 'LOCAL'")
+    private StorageBackend avatarStorageBackend = StorageBackend.LOCAL;
+
     @Column(name = "is_enabled", nullable = false)
     private boolean enabled = false;
 
@@ -86,6 +92,15 @@ public class User {
         this.avatarStoredName = avatarStoredName;
     }
 
+    @JsonIgnore
+    public StorageBackend getAvatarStorageBackend() {
+        return avatarStorageBackend;
+    }
+
+    public void setAvatarStorageBackend(StorageBackend avatarStorageBackend) {
+        this.avatarStorageBackend = avatarStorageBackend;
+    }
+
     
     @com.fasterxml.jackson.annotation.JsonProperty("avatarUrl")
     public String getAvatarUrl() {
@@ -2,7 +2,21 @@ package com.example.thesis.models.enums;
 
 public enum StorageBackend {
     
-    LOCAL,
+    LOCAL(StorageTier.HOT),
     
-    OBJECT_STORE
+    OBJECT_STORE(StorageTier.COLD);
+
+    private final StorageTier tier;
+
+    StorageBackend(StorageTier tier) {
+        this.tier = tier;
+    }
+
+    public StorageTier getTier() {
+        return tier;
+    }
+
+    public static StorageBackend forTier(StorageTier tier) {
+        return tier == StorageTier.COLD ? OBJECT_STORE : LOCAL;
+    }
 }
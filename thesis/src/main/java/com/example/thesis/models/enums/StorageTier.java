@@ -0,0 +1,8 @@
+package com.example.thesis.models.enums;
+
+public enum StorageTier {
+
+    HOT,
+
+    COLD
+}
@@ -0,0 +1,138 @@
+package com.example.thesis.repository;
+
+import com.example.thesis.dto.ChatCursor;
+import com.example.thesis.dto.ChatMessageDto;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+@Repository
+public class ChatArchiveRepository {
+
+    public static final List<String> SCHEMA_DDL = List.of(
+            "CREATE TABLE IF NOT EXISTS chat_messages_archive (" +
+                    "id uuid NOT NULL, group_id uuid NOT NULL, sender_id uuid NOT NULL, content text, " +
+                    "message_kind varchar(32) NOT NULL, timestamp timestamp(6) NOT NULL, attachment_id uuid, " +
+                    "is_edited boolean, edit_timestamp timestamp(6), reply_to_id uuid, " +
+                    "pinned boolean NOT NULL DEFAULT false, pinned_at timestamp(6), " +
+                    "archived_at timestamp(6) NOT NULL DEFAULT now(), " +
+                    "PRIMARY KEY (id, timestamp)) PARTITION BY RANGE (timestamp)",
+            "CREATE INDEX IF NOT EXISTS idx_chat_archive_group_ts_id ON chat_messages_archive (group_id, timestamp, id)",
+            "CREATE INDEX IF NOT EXISTS idx_chat_archive_id ON chat_messages_archive (id)"
+    );
+
+    private static final String COLUMNS = "id, group_id, sender_id, content, message_kind, timestamp, attachment_id, " +
+            "is_edited, edit_timestamp, reply_to_id, pinned, pinned_at";
+
+    private static final String DTO_SELECT = "SELECT m.id, m.group_id, m.content, m.message_kind, m.timestamp, " +
+            "m.is_edited, m.edit_timestamp, m.reply_to_id, m.pinned, m.pinned_at, " +
+            "s.id AS sender_id, s.username, s.first_name, s.last_name, s.avatar_stored_name, " +
+            "a.id AS attachment_id, a.original_name, a.file_size, a.mime_type " +
+            "FROM chat_messages_archive m JOIN users s ON s.id = m.sender_id " +
+            "LEFT JOIN file_metadata a ON a.id = m.attachment_id ";
+
+    private static final RowMapper<ChatMessageDto> DTO_MAPPER = (rs, i) -> new ChatMessageDto(
+            rs.getObject("id", UUID.class),
+            rs.getObject("group_id", UUID.class),
+            rs.getString("content"),
+            rs.getString("message_kind"),
+            toLocal(rs.getTimestamp("timestamp")),
+            rs.getBoolean("is_edited"),
+            toLocal(rs.getTimestamp("edit_timestamp")),
+            rs.getObject("reply_to_id", UUID.class),
+            rs.getBoolean("pinned"),
+            toLocal(rs.getTimestamp("pinned_at")),
+            rs.getObject("sender_id", UUID.class),
+            rs.getString("username"),
+            rs.getString("first_name"),
+            rs.getString("last_name"),
+            rs.getString("avatar_stored_name"),
+            rs.getObject("attachment_id", UUID.class),
+            rs.getString("original_name"),
+            (Long) rs.getObject("file_size"),
+            rs.getString("mime_type"));
+
+    private final JdbcTemplate jdbcTemplate;
+    private final NamedParameterJdbcTemplate jdbc;
+    private final Set<YearMonth> knownPartitions = ConcurrentHashMap.newKeySet();
+
+    public ChatArchiveRepository(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.jdbc = new NamedParameterJdbcTemplate(jdbcTemplate);
+    }
+
+    public void ensurePartition(YearMonth month) {
+        if (knownPartitions.contains(month)) {
+            return;
+        }
+        jdbcTemplate.execute(String.format(
+                "CREATE TABLE IF NOT EXISTS chat_messages_archive_y%04dm%02d PARTITION OF chat_messages_archive " +
+                        "FOR VALUES FROM ('%s') TO ('%s')",
+                month.getYear(), month.getMonthValue(), month.atDay(1), month.plusMonths(1).atDay(1)));
+        knownPartitions.add(month);
+    }
+
+    public LocalDateTime findOldestArchivable(LocalDateTime cutoff) {
+        Timestamp ts = jdbcTemplate.queryForObject(
+                "SELECT MIN(timestamp) FROM chat_messages WHERE timestamp < ? AND pinned = false",
+                Timestamp.class, Timestamp.valueOf(cutoff));
+        return toLocal(ts);
+    }
+
+    public int archiveBatch(LocalDateTime cutoff, int limit) {
+        return jdbcTemplate.update(
+                "WITH moved AS (DELETE FROM chat_messages WHERE id IN (" +
+                        "SELECT id FROM chat_messages WHERE timestamp < ? AND pinned = false " +
+                        "ORDER BY timestamp, id LIMIT ? FOR UPDATE SKIP LOCKED) RETURNING " + COLUMNS + ") " +
+                        "INSERT INTO chat_messages_archive (" + COLUMNS + ") SELECT " + COLUMNS + " FROM moved",
+                Timestamp.valueOf(cutoff), limit);
+    }
+
+    public Optional<ChatMessageDto> findDtoById(UUID id) {
+        return jdbc.query(DTO_SELECT + "WHERE m.id = :id",
+                new MapSqlParameterSource("id", id), DTO_MAPPER).stream().findFirst();
+    }
+
+    public List<ChatMessageDto> findLatestPage(UUID groupId, int limit) {
+        return jdbc.query(DTO_SELECT + "WHERE m.group_id = :groupId ORDER BY m.timestamp DESC, m.id DESC LIMIT :limit",
+                new MapSqlParameterSource("groupId", groupId).addValue("limit", limit), DTO_MAPPER);
+    }
+
+    public List<ChatMessageDto> findPageBefore(UUID groupId, ChatCursor cursor, int limit) {
+        return jdbc.query(DTO_SELECT + "WHERE m.group_id = :groupId AND (m.timestamp, m.id) < (:ts, :id) " +
+                        "ORDER BY m.timestamp DESC, m.id DESC LIMIT :limit",
+                cursorParams(groupId, cursor, limit), DTO_MAPPER);
+    }
+
+    public List<ChatMessageDto> findPageAfter(UUID groupId, ChatCursor cursor, int limit) {
+        return jdbc.query(DTO_SELECT + "WHERE m.group_id = :groupId AND (m.timestamp, m.id) > (:ts, :id) " +
+                        "ORDER BY m.timestamp ASC, m.id ASC LIMIT :limit",
+                cursorParams(groupId, cursor, limit), DTO_MAPPER);
+    }
+
+    public int deleteByGroupId(UUID groupId) {
+        return jdbcTemplate.update("DELETE FROM chat_messages_archive WHERE group_id = ?", groupId);
+    }
+
+    private static MapSqlParameterSource cursorParams(UUID groupId, ChatCursor cursor, int limit) {
+        return new MapSqlParameterSource("groupId", groupId)
+                .addValue("ts", Timestamp.valueOf(cursor.getTimestamp()))
+                .addValue("id", cursor.getId())
+                .addValue("limit", limit);
+    }
+
+    private static LocalDateTime toLocal(Timestamp ts) {
+        return ts != null ? ts.toLocalDateTime() : null;
+    }
+}
@@ -1,5 +1,6 @@
 package com.example.thesis.repository;
 
+import com.example.thesis.dto.ChatMessageDto;
 import com.example.thesis.models.ChatMessage;
 import com.example.thesis.models.User;
 import com.example.thesis.models.WorkGroup;
@@ -13,6 +14,7 @@ import org.springframework.stereotype.Repository;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
@@ -37,6 +39,39 @@ public interface ChatMessageRepository extends JpaRepository<ChatMessage, UUID>
     @Query("SELECT cm FROM ChatMessage cm WHERE cm.group.id = :groupId ORDER BY cm.timestamp DESC")
     Page<ChatMessage> findByGroupId(@Param("groupId") UUID groupId, Pageable pageable);
 
+    String DTO_SELECT = "SELECT new com.example.thesis.dto.ChatMessageDto(" +
+            "cm.id, cm.group.id, cm.content, cm.messageKind, cm.timestamp, cm.edited, cm.editTimestamp, " +
+            "cm.replyToId, cm.pinned, cm.pinnedAt, " +
+            "s.id, s.username, s.firstName, s.lastName, s.avatarStoredName, " +
+            "a.id, a.originalName, a.fileSize, a.mimeType) " +
+            "FROM ChatMessage cm JOIN cm.sender s LEFT JOIN cm.attachment a ";
+
+    @Query(DTO_SELECT + "WHERE cm.id = :messageId")
+    Optional<ChatMessageDto> findDtoById(@Param("messageId") UUID messageId);
+
+    @Query(DTO_SELECT + "WHERE cm.group.id = :groupId ORDER BY cm.timestamp ASC, cm.id ASC")
+    List<ChatMessageDto> findDtosByGroupId(@Param("groupId") UUID groupId);
+
+    @Query(DTO_SELECT + "WHERE cm.group.id = :groupId ORDER BY cm.timestamp DESC, cm.id DESC")
+    List<ChatMessageDto> findLatestPage(@Param("groupId") UUID groupId, Pageable pageable);
+
+    @Query(DTO_SELECT + "WHERE cm.group.id = :groupId AND cm.timestamp <= :ts " +
+            "AND (cm.timestamp < :ts OR cm.id < :id) ORDER BY cm.timestamp DESC, cm.id DESC")
+    List<ChatMessageDto> findPageBefore(@Param("groupId") UUID groupId,
+                                        @Param("ts") LocalDateTime ts,
+                                        @Param("id") UUID id,
+                                        Pageable pageable);
+
+    @Query(DTO_SELECT + "WHERE cm.group.id = :groupId AND cm.timestamp >= :ts " +
+            "AND (cm.timestamp > :ts OR cm.id > :id) ORDER BY cm.timestamp ASC, cm.id ASC")
+    List<ChatMessageDto> findPageAfter(@Param("groupId") UUID groupId,
+                                       @Param("ts") LocalDateTime ts,
+                                       @Param("id") UUID id,
+                                       Pageable pageable);
+
+    @Query(DTO_SELECT + "WHERE cm.id IN :ids")
+    List<ChatMessageDto> findDtosByIds(@Param("ids") Collection<UUID> ids);
+
     @Query("SELECT cm FROM ChatMessage cm WHERE cm.group.id = :groupId " +
             "AND cm.timestamp > :since ORDER BY cm.timestamp ASC")
     List<ChatMessage> findNewMessages(@Param("groupId") UUID groupId,
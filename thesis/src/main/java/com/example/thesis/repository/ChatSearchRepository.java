@@ -0,0 +1,95 @@
+package com.example.thesis.repository;
+
+import com.example.thesis.dto.ChatCursor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+@Repository
+public class ChatSearchRepository {
+
+    public static final String INDEX_DDL = "CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_chat_messages_fts " +
+            "ON chat_messages USING GIN (to_tsvector('russian', COALESCE(content, '')))";
+
+    private static final String HEADLINE_OPTIONS =
+            "StartSel=<mark>, StopSel=</mark>, MaxWords=20, MinWords=6, MaxFragments=2, FragmentDelimiter=\" … \"";
+
+    private final NamedParameterJdbcTemplate jdbc;
+
+    public ChatSearchRepository(JdbcTemplate jdbcTemplate) {
+        this.jdbc = new NamedParameterJdbcTemplate(jdbcTemplate);
+    }
+
+    public List<Hit> search(UUID groupId, String query, UUID senderId, LocalDateTime from, LocalDateTime to,
+                            String kind, ChatCursor cursor, int limit) {
+        MapSqlParameterSource params = new MapSqlParameterSource()
+                .addValue("groupId", groupId)
+                .addValue("q", query)
+                .addValue("limit", limit);
+        StringBuilder where = new StringBuilder(
+                "m.group_id = :groupId AND to_tsvector('russian', COALESCE(m.content, '')) @@ websearch_to_tsquery('russian', :q)");
+        if (senderId != null) {
+            where.append(" AND m.sender_id = :senderId");
+            params.addValue("senderId", senderId);
+        }
+        if (from != null) {
+            where.append(" AND m.timestamp >= :from");
+            params.addValue("from", Timestamp.valueOf(from));
+        }
+        if (to != null) {
+            where.append(" AND m.timestamp < :to");
+            params.addValue("to", Timestamp.valueOf(to));
+        }
+        if (kind != null && !kind.isBlank()) {
+            where.append(" AND m.message_kind = :kind");
+            params.addValue("kind", kind.trim().toUpperCase());
+        }
+        if (cursor != null) {
+            where.append(" AND (m.timestamp, m.id) < (:cursorTs, :cursorId)");
+            params.addValue("cursorTs", Timestamp.valueOf(cursor.getTimestamp()));
+            params.addValue("cursorId", cursor.getId());
+        }
+
+        String sql = "SELECT p.id, p.timestamp, ts_headline('russian', " +
+                "replace(replace(replace(COALESCE(p.content, ''), '&', '&amp;'), '<', '&lt;'), '>', '&gt;'), " +
+                "websearch_to_tsquery('russian', :q), '" + HEADLINE_OPTIONS + "') AS highlight " +
+                "FROM (SELECT m.id, m.timestamp, m.content FROM chat_messages m WHERE " + where +
+                " ORDER BY m.timestamp DESC, m.id DESC LIMIT :limit) p " +
+                "ORDER BY p.timestamp DESC, p.id DESC";
+
+        return jdbc.query(sql, params, (rs, i) -> new Hit(
+                rs.getObject("id", UUID.class),
+                rs.getTimestamp("timestamp").toLocalDateTime(),
+                rs.getString("highlight")));
+    }
+
+    public static class Hit {
+        private final UUID id;
+        private final LocalDateTime timestamp;
+        private final String highlight;
+
+        public Hit(UUID id, LocalDateTime timestamp, String highlight) {
+            this.id = id;
+            this.timestamp = timestamp;
+            this.highlight = highlight;
+        }
+
+        public UUID getId() {
+            return id;
+        }
+
+        public LocalDateTime getTimestamp() {
+            return timestamp;
+        }
+
+        public String getHighlight() {
+            return highlight;
+        }
+    }
+}
@@ -1,7 +1,10 @@
 package com.example.thesis.repository;
 
+import com.example.thesis.dto.FileRevisionDto;
 import com.example.thesis.models.FileContentRevision;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
 import java.util.List;
 import java.util.Optional;
@@ -11,4 +14,10 @@ public interface FileContentRevisionRepository extends JpaRepository<FileContent
     List<FileContentRevision> findByFile_IdOrderByFileVersionSnapshotDesc(UUID fileId);
 
     Optional<FileContentRevision> findByIdAndFile_Id(UUID revisionId, UUID fileId);
+
+    @Query("SELECT new com.example.thesis.dto.FileRevisionDto(r.id, r.fileVersionSnapshot, r.sizeBytes, " +
+            "r.mimeType, r.originalNameSnapshot, r.hasTextSnapshot, r.createdAt, u.id, u.username) " +
+            "FROM FileContentRevision r JOIN r.createdBy u WHERE r.file.id = :fileId " +
+            "ORDER BY r.fileVersionSnapshot DESC")
+    List<FileRevisionDto> findRevisionSummaries(@Param("fileId") UUID fileId);
 }
@@ -0,0 +1,9 @@
+package com.example.thesis.repository;
+
+import com.example.thesis.models.FileRevisionText;
+import org.springframework.data.jpa.repository.JpaRepository;
+
+import java.util.UUID;
+
+public interface FileRevisionTextRepository extends JpaRepository<FileRevisionText, UUID> {
+}
@@ -1,5 +1,6 @@
 package com.example.thesis.repository;
 
+import com.example.thesis.dto.ChatReadReceipt;
 import com.example.thesis.models.Membership;
 import com.example.thesis.models.User;
 import com.example.thesis.models.WorkGroup;
@@ -11,6 +12,7 @@ import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
@@ -31,6 +33,9 @@ public interface MembershipRepository extends JpaRepository<Membership, UUID> {
     @Query("SELECT m FROM Membership m JOIN FETCH m.user WHERE m.group.id = :groupId")
     List<Membership> findByGroupIdWithUsers(@Param("groupId") UUID groupId);
 
+    @Query("SELECT m.user.id, m.user.username FROM Membership m WHERE m.group.id = :groupId")
+    List<Object[]> findUsernamesByGroupId(@Param("groupId") UUID groupId);
+
     List<Membership> findByUserId(UUID userId);
 
     List<Membership> findByGroupAndRole(WorkGroup group, MembershipRole role);
@@ -65,6 +70,9 @@ public interface MembershipRepository extends JpaRepository<Membership, UUID> {
     @Query("SELECT m.user.id FROM Membership m WHERE m.group.id = :groupId")
     List<UUID> findUserIdsByGroupId(@Param("groupId") UUID groupId);
 
+    @Query("SELECT m.group.id FROM Membership m WHERE m.user.id = :userId")
+    List<UUID> findGroupIdsByUserId(@Param("userId") UUID userId);
+
     @Query("SELECT CASE WHEN COUNT(m) > 0 THEN true ELSE false END " +
             "FROM Membership m WHERE m.group.id = :groupId AND m.user.id = :userId")
     boolean isUserMemberOfGroup(@Param("userId") UUID userId, @Param("groupId") UUID groupId);
@@ -73,4 +81,23 @@ public interface MembershipRepository extends JpaRepository<Membership, UUID> {
             "FROM Membership m WHERE m.group.id = :groupId AND m.user.id = :userId " +
             "AND (m.role = 'CREATOR' OR m.role = 'ADMIN')")
     boolean isUserAdminOrCreator(@Param("userId") UUID userId, @Param("groupId") UUID groupId);
-}
\ No newline at end of file
+
+    @Query("SELECT m.group.id, m.unreadCount FROM Membership m WHERE m.user.id = :userId")
+    List<Object[]> findUnreadCountsByUserId(@Param("userId") UUID userId);
+
+    @Query("SELECT new com.example.thesis.dto.ChatReadReceipt(m.user.id, m.lastReadMessageId, m.lastReadAt) " +
+            "FROM Membership m WHERE m.group.id = :groupId AND m.lastReadMessageId IS NOT NULL")
+    List<ChatReadReceipt> findReadReceiptsByGroupId(@Param("groupId") UUID groupId);
+
+    @Transactional
+    @Modifying
+    @Query(value = "UPDATE memberships SET last_read_message_id = :messageId, last_read_at = :readAt, " +
+            "unread_count = (SELECT COUNT(*) FROM chat_messages c WHERE c.group_id = :groupId " +
+            "AND c.sender_id <> :userId AND c.timestamp > :readAt) " +
+            "WHERE user_id = :userId AND group_id = :groupId " +
+            "AND (last_read_at IS NULL OR last_read_at <= :readAt)", nativeQuery = true)
+    int advanceReadCursor(@Param("userId") UUID userId,
+                          @Param("groupId") UUID groupId,
+                          @Param("messageId") UUID messageId,
+                          @Param("readAt") LocalDateTime readAt);
+}
@@ -0,0 +1,84 @@
+package com.example.thesis.repository;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.UUID;
+
+@Repository
+public class NotificationCounterRepository {
+
+    private static final String BACKFILL_SQL = "INSERT INTO notification_unread_counters (user_id, unread) " +
+            "SELECT n.user_id, COUNT(*) FROM notifications n WHERE n.is_read = false " +
+            "AND NOT EXISTS (SELECT 1 FROM notification_unread_counters c WHERE c.user_id = n.user_id) " +
+            "GROUP BY n.user_id " +
+            "ON CONFLICT (user_id) DO NOTHING";
+
+    // a missing row is seeded from the notifications themselves (callers insert those first),
+    // so an increment that races the startup backfill cannot pin the counter below the real count
+    private static final String INCREMENT_SQL = "INSERT INTO notification_unread_counters (user_id, unread) " +
+            "SELECT ?, COUNT(*) FROM notifications WHERE user_id = ? AND is_read = false " +
+            "ON CONFLICT (user_id) DO UPDATE SET unread = notification_unread_counters.unread + ?";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public NotificationCounterRepository(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    public void increment(UUID userId) {
+        jdbcTemplate.update(INCREMENT_SQL, userId, userId, 1);
+    }
+
+    public void incrementAll(Collection<UUID> userIds) {
+        if (userIds.isEmpty()) {
+            return;
+        }
+        jdbcTemplate.batchUpdate(INCREMENT_SQL, userIds.stream().map(id -> new Object[]{id, id, 1}).toList());
+    }
+
+    public void decrement(UUID userId, int by) {
+        if (by <= 0) {
+            return;
+        }
+        jdbcTemplate.update("UPDATE notification_unread_counters SET unread = GREATEST(unread - ?, 0) WHERE user_id = ?",
+                by, userId);
+    }
+
+    public void reset(UUID userId) {
+        jdbcTemplate.update("UPDATE notification_unread_counters SET unread = 0 WHERE user_id = ?", userId);
+    }
+
+    public void releaseGroup(UUID groupId) {
+        jdbcTemplate.update("UPDATE notification_unread_counters c SET unread = GREATEST(c.unread - x.cnt, 0) " +
+                "FROM (SELECT user_id, COUNT(*) AS cnt FROM notifications WHERE group_id = ? AND is_read = false " +
+                "GROUP BY user_id) x WHERE c.user_id = x.user_id", groupId);
+    }
+
+    public int purgeOlderThan(LocalDateTime cutoff, int limit) {
+        Integer purged = jdbcTemplate.queryForObject(
+                "WITH purged AS (DELETE FROM notifications WHERE id IN (" +
+                        "SELECT id FROM notifications WHERE created_date < ? ORDER BY created_date " +
+                        "LIMIT ? FOR UPDATE SKIP LOCKED) RETURNING user_id, is_read), " +
+                        "released AS (UPDATE notification_unread_counters c SET unread = GREATEST(c.unread - x.cnt, 0) " +
+                        "FROM (SELECT user_id, COUNT(*) AS cnt FROM purged WHERE NOT is_read GROUP BY user_id) x " +
+                        "WHERE c.user_id = x.user_id) " +
+                        "SELECT COUNT(*) FROM purged",
+                Integer.class, Timestamp.valueOf(cutoff), limit);
+        return purged != null ? purged : 0;
+    }
+
+    public long get(UUID userId) {
+        List<Integer> rows = jdbcTemplate.queryForList(
+                "SELECT unread FROM notification_unread_counters WHERE user_id = ?", Integer.class, userId);
+        return rows.isEmpty() ? 0 : rows.get(0);
+    }
+
+    public int backfillMissing() {
+        return jdbcTemplate.update(BACKFILL_SQL);
+    }
+}
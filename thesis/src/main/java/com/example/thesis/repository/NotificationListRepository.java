@@ -0,0 +1,67 @@
+package com.example.thesis.repository;
+
+import com.example.thesis.dto.ChatCursor;
+import com.example.thesis.dto.NotificationDto;
+import com.example.thesis.models.enums.NotificationType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.sql.Timestamp;
+import java.util.List;
+import java.util.UUID;
+
+@Repository
+public class NotificationListRepository {
+
+    private static final RowMapper<NotificationDto> DTO_MAPPER = (rs, i) -> {
+        Timestamp readDate = rs.getTimestamp("read_date");
+        return new NotificationDto(
+                rs.getObject("id", UUID.class),
+                NotificationType.valueOf(rs.getString("type")),
+                rs.getString("message"),
+                rs.getTimestamp("created_date").toLocalDateTime(),
+                rs.getBoolean("is_read"),
+                readDate != null ? readDate.toLocalDateTime() : null,
+                rs.getObject("group_id", UUID.class),
+                rs.getString("group_name"));
+    };
+
+    private final NamedParameterJdbcTemplate jdbc;
+
+    public NotificationListRepository(JdbcTemplate jdbcTemplate) {
+        this.jdbc = new NamedParameterJdbcTemplate(jdbcTemplate);
+    }
+
+    public List<NotificationDto> findPage(UUID userId, NotificationType type, UUID groupId, Boolean read,
+                                          ChatCursor cursor, int limit) {
+        MapSqlParameterSource params = new MapSqlParameterSource()
+                .addValue("userId", userId)
+                .addValue("limit", limit);
+        StringBuilder where = new StringBuilder("n.user_id = :userId");
+        if (type != null) {
+            where.append(" AND n.type = :type");
+            params.addValue("type", type.name());
+        }
+        if (groupId != null) {
+            where.append(" AND n.group_id = :groupId");
+            params.addValue("groupId", groupId);
+        }
+        if (read != null) {
+            where.append(" AND n.is_read = :read");
+            params.addValue("read", read);
+        }
+        if (cursor != null) {
+            where.append(" AND (n.created_date, n.id) < (:cursorTs, :cursorId)");
+            params.addValue("cursorTs", Timestamp.valueOf(cursor.getTimestamp()));
+            params.addValue("cursorId", cursor.getId());
+        }
+        return jdbc.query("SELECT n.id, n.type, n.message, n.created_date, n.is_read, n.read_date, " +
+                        "n.group_id, g.name AS group_name FROM notifications n " +
+                        "LEFT JOIN work_groups g ON g.id = n.group_id WHERE " + where +
+                        " ORDER BY n.created_date DESC, n.id DESC LIMIT :limit",
+                params, DTO_MAPPER);
+    }
+}
@@ -66,6 +66,15 @@ public interface NotificationRepository extends JpaRepository<Notification, UUID
     int markAsRead(@Param("notificationId") UUID notificationId,
                    @Param("userId") UUID userId);
 
+    @Transactional
+    @Modifying
+    @Query("UPDATE Notification n SET n.read = true, n.readDate = CURRENT_TIMESTAMP " +
+            "WHERE n.id = :notificationId AND n.user.id = :userId AND n.read = false")
+    int markUnreadAsRead(@Param("notificationId") UUID notificationId,
+                         @Param("userId") UUID userId);
+
+    boolean existsByIdAndUserId(UUID id, UUID userId);
+
     @Transactional
     @Modifying
     @Query("UPDATE Notification n SET n.read = true, n.readDate = CURRENT_TIMESTAMP " +
@@ -85,6 +94,11 @@ public interface NotificationRepository extends JpaRepository<Notification, UUID
     int deleteOldReadNotifications(@Param("userId") UUID userId,
                                    @Param("cutoffDate") LocalDateTime cutoffDate);
 
+    @Transactional
+    @Modifying
+    @Query("DELETE FROM Notification n WHERE n.user.id = :userId")
+    int deleteAllByUserId(@Param("userId") UUID userId);
+
     @Transactional
     @Modifying
     @Query("DELETE FROM Notification n WHERE n.user.id = :userId AND n.group.id = :groupId")
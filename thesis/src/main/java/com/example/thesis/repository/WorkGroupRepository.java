@@ -1,5 +1,6 @@
 package com.example.thesis.repository;
 
+import com.example.thesis.dto.GroupWithStats;
 import com.example.thesis.models.User;
 import com.example.thesis.models.WorkGroup;
 import com.example.thesis.models.enums.MembershipRole;
@@ -8,6 +9,7 @@ import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
@@ -26,6 +28,15 @@ public interface WorkGroupRepository extends JpaRepository<WorkGroup, UUID> {
     @Query("SELECT DISTINCT wg FROM WorkGroup wg JOIN wg.memberships m WHERE m.user.id = :userId")
     List<WorkGroup> findGroupsByUserWithMembership(@Param("userId") UUID userId);
 
+    @Query("SELECT new com.example.thesis.dto.GroupWithStats(wg.id, wg.name, wg.description, wg.creationDate, " +
+            "c.username, " +
+            "(SELECT COUNT(m2) FROM Membership m2 WHERE m2.group = wg), " +
+            "(SELECT COUNT(f) FROM FileMetadata f WHERE f.parentGroup = wg AND f.deleted = false), " +
+            "m.notificationsMuted, m.pinned, m.accentColor, wg.coverFileId) " +
+            "FROM Membership m JOIN m.group wg LEFT JOIN wg.creator c " +
+            "WHERE m.user.id = :userId ORDER BY m.pinned DESC, LOWER(wg.name) ASC")
+    List<GroupWithStats> findGroupsWithStatsByUserId(@Param("userId") UUID userId);
+
     @Query("SELECT wg FROM WorkGroup wg WHERE wg.creator.id = :userId")
     List<WorkGroup> findCreatedGroupsByUserId(@Param("userId") UUID userId);
 
@@ -50,4 +61,7 @@ public interface WorkGroupRepository extends JpaRepository<WorkGroup, UUID> {
             "OR LOWER(wg.description) LIKE LOWER(CONCAT('%', :searchTerm, '%')))")
     List<WorkGroup> searchGroupsForUser(@Param("userId") UUID userId,
                                         @Param("searchTerm") String searchTerm);
+
+    @Query("SELECT wg.creationDate FROM WorkGroup wg WHERE wg.id = :groupId")
+    Optional<LocalDateTime> findCreationDateById(@Param("groupId") UUID groupId);
 }
\ No newline at end of file
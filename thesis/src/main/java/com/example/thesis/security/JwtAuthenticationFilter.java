@@ -18,6 +18,8 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
 
     private static final Logger logger = LoggerFactory.getLogger(JwtAuthenticationFilter.class);
 
+    static final String EVENT_STREAM_PATH = "/api/events/stream";
+
     private final JwtTokenProvider tokenProvider;
     private final CustomUserDetailsService customUserDetailsService;
 
@@ -74,6 +76,13 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
         if (StringUtils.hasText(bearerToken) && bearerToken.startsWith("Bearer ")) {
             return bearerToken.substring(7);
         }
+        // EventSource cannot set headers, so the SSE stream accepts the token as a query parameter
+        if (EVENT_STREAM_PATH.equals(request.getRequestURI())) {
+            String token = request.getParameter("access_token");
+            if (StringUtils.hasText(token)) {
+                return token;
+            }
+        }
         return null;
     }
 }
\ No newline at end of file
@@ -0,0 +1,77 @@
+package com.example.thesis.service;
+
+import com.example.thesis.repository.ChatArchiveRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+@Component
+public class ChatArchiver {
+
+    private static final Logger log = LoggerFactory.getLogger(ChatArchiver.class);
+
+    private final ChatArchiveRepository archiveRepository;
+    private final boolean enabled;
+    private final int historyDays;
+    private final int batchSize;
+    private final AtomicBoolean running = new AtomicBoolean(false);
+
+    public ChatArchiver(ChatArchiveRepository archiveRepository,
+                        @Value("${app.chat.archive-enabled:false}") boolean enabled,
+                        @Value("${app.chat.message-history-days:30}") int historyDays,
+                        @Value("${app.chat.archive-batch-size:500}") int batchSize) {
+        this.archiveRepository = archiveRepository;
+        this.enabled = enabled;
+        this.historyDays = Math.max(1, historyDays);
+        this.batchSize = Math.max(1, batchSize);
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public LocalDateTime horizon() {
+        return LocalDateTime.now().minusDays(historyDays);
+    }
+
+    @Scheduled(cron = "${app.chat.archive-cron:0 45 2 * * *}")
+    public void scheduledRun() {
+        if (enabled) {
+            archiveOldMessages();
+        }
+    }
+
+    public long archiveOldMessages() {
+        if (!running.compareAndSet(false, true)) {
+            return 0;
+        }
+        long moved = 0;
+        try {
+            LocalDateTime cutoff = horizon();
+            LocalDateTime oldest = archiveRepository.findOldestArchivable(cutoff);
+            if (oldest == null) {
+                return 0;
+            }
+            for (YearMonth m = YearMonth.from(oldest); !m.isAfter(YearMonth.from(cutoff)); m = m.plusMonths(1)) {
+                archiveRepository.ensurePartition(m);
+            }
+            int batch;
+            do {
+                batch = archiveRepository.archiveBatch(cutoff, batchSize);
+                moved += batch;
+            } while (batch >= batchSize);
+            log.info("[CHAT] Перенесено в архив сообщений: {} (старше {})", moved, cutoff);
+        } catch (RuntimeException e) {
+            log.warn("[CHAT] Ошибка архивации сообщений после {} перенесённых: {}", moved, e.getMessage());
+        } finally {
+            running.set(false);
+        }
+        return moved;
+    }
+}
@@ -2,18 +2,32 @@ package com.example.thesis.service;
 
 import com.example.thesis.models.ChatMessage;
 import com.example.thesis.models.User;
+import com.example.thesis.dto.ChatMessageDto;
+import com.example.thesis.dto.ChatMessagePage;
+import com.example.thesis.dto.ChatReadReceipt;
 import com.example.thesis.dto.ChatMessageRequest;
+import com.example.thesis.dto.ChatSearchPage;
+import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Map;
 import java.util.UUID;
 
 public interface ChatService {
-    ChatMessage sendMessage(ChatMessageRequest request, User sender);
-    List<ChatMessage> getGroupMessages(UUID groupId);
+    ChatMessageDto sendMessage(ChatMessageRequest request, User sender);
+    /** Hot table only; messages moved to the archive are served by {@link #getGroupMessagesPage}. */
+    List<ChatMessageDto> getGroupMessages(UUID groupId);
+    ChatMessagePage getGroupMessagesPage(UUID groupId, String before, String after, UUID around,
+                                         int limit, User requester);
     List<ChatMessage> getGroupMessagesSince(UUID groupId, Long timestamp);
     void editMessage(UUID messageId, String newContent, User requester);
     void deleteMessage(UUID messageId, User requester);
-    ChatMessage getMessage(UUID messageId);
-    List<ChatMessage> searchMessages(UUID groupId, String searchTerm);
+    ChatMessageDto getMessage(UUID messageId);
+    ChatSearchPage searchMessages(UUID groupId, String query, UUID senderId, LocalDateTime from, LocalDateTime to,
+                                  String kind, String cursor, int limit, User requester);
 
-    ChatMessage setMessagePinned(UUID messageId, boolean pinned, User requester);
-}
\ No newline at end of file
+    ChatMessageDto setMessagePinned(UUID messageId, boolean pinned, User requester);
+
+    ChatReadReceipt markRead(UUID groupId, UUID messageId, User requester);
+    List<ChatReadReceipt> getReadReceipts(UUID groupId, User requester);
+    Map<UUID, Integer> getUnreadCounts(User requester);
+}
@@ -0,0 +1,72 @@
+package com.example.thesis.service;
+
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentLinkedQueue;
+
+@Component
+public class ChatUnreadCounter {
+
+    private static final Logger log = LoggerFactory.getLogger(ChatUnreadCounter.class);
+
+    private static final String INCREMENT_SQL =
+            "UPDATE memberships SET unread_count = unread_count + 1 " +
+                    "WHERE group_id = ? AND user_id <> ? AND (last_read_at IS NULL OR last_read_at < ?)";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate ownTx;
+    private final ConcurrentLinkedQueue<Object[]> pending = new ConcurrentLinkedQueue<>();
+
+    public ChatUnreadCounter(JdbcTemplate jdbcTemplate, PlatformTransactionManager transactionManager) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.ownTx = new TransactionTemplate(transactionManager);
+        this.ownTx.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+    }
+
+    public void recordMessage(UUID groupId, UUID senderId, LocalDateTime timestamp) {
+        Object[] row = {groupId, senderId, Timestamp.valueOf(timestamp)};
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    pending.add(row);
+                }
+            });
+        } else {
+            pending.add(row);
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${app.chat.unread-flush-ms:2000}")
+    @PreDestroy
+    public synchronized void flush() {
+        List<Object[]> batch = new ArrayList<>();
+        Object[] row;
+        while ((row = pending.poll()) != null) {
+            batch.add(row);
+        }
+        if (batch.isEmpty()) {
+            return;
+        }
+        try {
+            ownTx.executeWithoutResult(status -> jdbcTemplate.batchUpdate(INCREMENT_SQL, batch));
+        } catch (RuntimeException e) {
+            log.warn("[CHAT] Не удалось обновить счётчики непрочитанных ({} сообщений): {}", batch.size(), e.getMessage());
+        }
+    }
+}
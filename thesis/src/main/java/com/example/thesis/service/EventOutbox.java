@@ -0,0 +1,63 @@
+package com.example.thesis.service;
+
+import com.example.thesis.models.OutboxEvent;
+import com.example.thesis.repository.OutboxEventRepository;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.MessageHeaders;
+import org.springframework.messaging.simp.SimpMessagingTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.nio.charset.StandardCharsets;
+
+@Service
+public class EventOutbox {
+
+    private final OutboxEventRepository outboxEventRepository;
+    private final SimpMessagingTemplate messagingTemplate;
+    private final OutboxDispatcher dispatcher;
+
+    public EventOutbox(OutboxEventRepository outboxEventRepository,
+                       SimpMessagingTemplate messagingTemplate,
+                       OutboxDispatcher dispatcher) {
+        this.outboxEventRepository = outboxEventRepository;
+        this.messagingTemplate = messagingTemplate;
+        this.dispatcher = dispatcher;
+    }
+
+    @Transactional
+    public void publish(String destination, Object payload) {
+        enqueue(destination, null, payload);
+    }
+
+    @Transactional
+    public void publishToUser(String user, String destination, Object payload) {
+        enqueue(destination, user, payload);
+    }
+
+    private void enqueue(String destination, String user, Object payload) {
+        Message<?> converted = messagingTemplate.getMessageConverter().toMessage(payload, null);
+        if (converted == null) {
+            throw new RuntimeException("Не удалось сериализовать событие для " + destination);
+        }
+        Object body = converted.getPayload();
+        String text = body instanceof byte[] bytes ? new String(bytes, StandardCharsets.UTF_8) : body.toString();
+        Object contentType = converted.getHeaders().get(MessageHeaders.CONTENT_TYPE);
+
+        outboxEventRepository.save(new OutboxEvent(destination, user, text,
+                contentType != null ? contentType.toString() : null));
+
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    dispatcher.requestDispatch();
+                }
+            });
+        } else {
+            dispatcher.requestDispatch();
+        }
+    }
+}
@@ -0,0 +1,53 @@
+package com.example.thesis.service;
+
+import com.example.thesis.repository.MembershipRepository;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+@Component
+public class GroupMentionIndex {
+
+    private final MembershipRepository membershipRepository;
+    private final Map<UUID, Map<String, UUID>> byGroup = new ConcurrentHashMap<>();
+
+    public GroupMentionIndex(MembershipRepository membershipRepository) {
+        this.membershipRepository = membershipRepository;
+    }
+
+    public UUID resolve(UUID groupId, String username) {
+        if (username == null) {
+            return null;
+        }
+        return byGroup.computeIfAbsent(groupId, this::load).get(username.toLowerCase());
+    }
+
+    public void invalidate(UUID groupId) {
+        byGroup.remove(groupId);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    byGroup.remove(groupId);
+                }
+            });
+        }
+    }
+
+    private Map<String, UUID> load(UUID groupId) {
+        Map<String, UUID> index = new HashMap<>();
+        for (Object[] row : membershipRepository.findUsernamesByGroupId(groupId)) {
+            String username = (String) row[1];
+            if (username != null) {
+                index.put(username.toLowerCase(), (UUID) row[0]);
+            }
+        }
+        return Collections.unmodifiableMap(index);
+    }
+}
@@ -5,6 +5,7 @@ import com.example.thesis.models.User;
 import com.example.thesis.dto.GroupCreateRequest;
 import com.example.thesis.dto.GroupMembershipPrefsRequest;
 import com.example.thesis.dto.GroupUpdateRequest;
+import com.example.thesis.dto.GroupWithStats;
 import java.util.List;
 import java.util.UUID;
 
@@ -15,6 +16,7 @@ public interface GroupService {
     WorkGroup getGroupById(UUID groupId);
     WorkGroup getGroupByInviteToken(String token);
     List<WorkGroup> getUserGroups(UUID userId);
+    List<GroupWithStats> getUserGroupsWithStats(UUID userId);
     List<WorkGroup> getUserCreatedGroups(UUID userId);
     String generateInviteToken(UUID groupId, User requester);
     void joinGroup(String inviteToken, User user);
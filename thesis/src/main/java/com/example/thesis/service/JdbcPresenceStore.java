@@ -0,0 +1,181 @@
+package com.example.thesis.service;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Heartbeat table shared by all nodes. Heartbeats are buffered and written as one batched upsert per
+ * flush interval; rows of crashed nodes are reaped once they fall past the online window.
+ */
+@Component
+@ConditionalOnProperty(name = "app.presence.store", havingValue = "jdbc")
+public class JdbcPresenceStore implements PresenceStore {
+
+    private static final Logger log = LoggerFactory.getLogger(JdbcPresenceStore.class);
+
+    private static final String SCHEMA_DDL = "CREATE TABLE IF NOT EXISTS presence_heartbeats (" +
+            "group_id uuid NOT NULL, user_id uuid NOT NULL, node_id varchar(64) NOT NULL, " +
+            "last_seen bigint NOT NULL, PRIMARY KEY (group_id, user_id, node_id))";
+
+    private static final String UPSERT_SQL = "INSERT INTO presence_heartbeats (group_id, user_id, node_id, last_seen) " +
+            "VALUES (?, ?, ?, ?) ON CONFLICT (group_id, user_id, node_id) DO UPDATE SET last_seen = EXCLUDED.last_seen";
+
+    private static final long REMOVED = -1;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final NamedParameterJdbcTemplate jdbc;
+    private final String nodeId;
+    private final long graceMs;
+    private final Map<Key, Long> pending = new ConcurrentHashMap<>();
+    private volatile boolean ready;
+
+    public JdbcPresenceStore(JdbcTemplate jdbcTemplate,
+                             @Value("${app.presence.node-id:}") String nodeId,
+                             @Value("${app.presence.store-flush-ms:5000}") long flushMs) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.jdbc = new NamedParameterJdbcTemplate(jdbcTemplate);
+        this.nodeId = nodeId == null || nodeId.isBlank() ? UUID.randomUUID().toString() : nodeId;
+        this.graceMs = 2 * flushMs;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void createSchema() {
+        try {
+            jdbcTemplate.execute(SCHEMA_DDL);
+            ready = true;
+        } catch (Exception e) {
+            log.warn("[PRESENCE] Не удалось создать таблицу присутствия: {}", e.getMessage());
+        }
+    }
+
+    @Override
+    public String nodeId() {
+        return nodeId;
+    }
+
+    @Override
+    public void touch(UUID groupId, UUID userId, long at) {
+        pending.put(new Key(groupId, userId), at);
+    }
+
+    @Override
+    public void remove(UUID groupId, UUID userId) {
+        pending.put(new Key(groupId, userId), REMOVED);
+    }
+
+    @Scheduled(fixedDelayString = "${app.presence.store-flush-ms:5000}")
+    public void flush() {
+        if (!ready || pending.isEmpty()) {
+            return;
+        }
+        List<Object[]> upserts = new ArrayList<>();
+        List<Object[]> deletes = new ArrayList<>();
+        for (Key key : List.copyOf(pending.keySet())) {
+            Long at = pending.remove(key);
+            if (at == null) {
+                continue;
+            }
+            if (at == REMOVED) {
+                deletes.add(new Object[]{key.groupId, key.userId, nodeId});
+            } else {
+                upserts.add(new Object[]{key.groupId, key.userId, nodeId, at});
+            }
+        }
+        try {
+            if (!upserts.isEmpty()) {
+                jdbcTemplate.batchUpdate(UPSERT_SQL, upserts);
+            }
+            if (!deletes.isEmpty()) {
+                jdbcTemplate.batchUpdate(
+                        "DELETE FROM presence_heartbeats WHERE group_id = ? AND user_id = ? AND node_id = ?", deletes);
+            }
+        } catch (RuntimeException e) {
+            log.warn("[PRESENCE] Не удалось сохранить присутствие ({} записей): {}",
+                    upserts.size() + deletes.size(), e.getMessage());
+        }
+    }
+
+    @Override
+    public Set<UUID> onlineElsewhere(UUID groupId, Collection<UUID> userIds, long since) {
+        if (!ready || userIds.isEmpty()) {
+            return Set.of();
+        }
+        return new HashSet<>(jdbc.queryForList(
+                "SELECT DISTINCT user_id FROM presence_heartbeats WHERE group_id = :groupId " +
+                        "AND user_id IN (:userIds) AND node_id <> :nodeId AND last_seen >= :since",
+                new MapSqlParameterSource("groupId", groupId)
+                        .addValue("userIds", userIds)
+                        .addValue("nodeId", nodeId)
+                        .addValue("since", since),
+                UUID.class));
+    }
+
+    @Override
+    public Set<UUID> onlineUsers(UUID groupId, long since) {
+        if (!ready) {
+            return Set.of();
+        }
+        return new HashSet<>(jdbcTemplate.queryForList(
+                "SELECT DISTINCT user_id FROM presence_heartbeats WHERE group_id = ? AND node_id <> ? AND last_seen >= ?",
+                UUID.class, groupId, nodeId, since));
+    }
+
+    @Override
+    public Map<UUID, List<UUID>> reapExpired(long before) {
+        if (!ready) {
+            return Map.of();
+        }
+        long cutoff = before - graceMs;
+        Map<UUID, List<UUID>> reaped = new LinkedHashMap<>();
+        jdbcTemplate.query("WITH reaped AS (DELETE FROM presence_heartbeats WHERE last_seen < ? " +
+                        "RETURNING group_id, user_id) " +
+                        "SELECT DISTINCT r.group_id, r.user_id FROM reaped r WHERE NOT EXISTS (" +
+                        "SELECT 1 FROM presence_heartbeats h WHERE h.group_id = r.group_id " +
+                        "AND h.user_id = r.user_id AND h.last_seen >= ?)",
+                rs -> {
+                    reaped.computeIfAbsent(rs.getObject("group_id", UUID.class), k -> new ArrayList<>())
+                            .add(rs.getObject("user_id", UUID.class));
+                },
+                cutoff, cutoff);
+        return reaped;
+    }
+
+    private static final class Key {
+        private final UUID groupId;
+        private final UUID userId;
+
+        private Key(UUID groupId, UUID userId) {
+            this.groupId = groupId;
+            this.userId = userId;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            return o instanceof Key k && k.groupId.equals(groupId) && k.userId.equals(userId);
+        }
+
+        @Override
+        public int hashCode() {
+            return 31 * groupId.hashCode() + userId.hashCode();
+        }
+    }
+}
@@ -0,0 +1,45 @@
+package com.example.thesis.service;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+
+@Component
+@ConditionalOnProperty(name = "app.presence.store", havingValue = "local", matchIfMissing = true)
+public class LocalPresenceStore implements PresenceStore {
+
+    private final String nodeId = UUID.randomUUID().toString();
+
+    @Override
+    public String nodeId() {
+        return nodeId;
+    }
+
+    @Override
+    public void touch(UUID groupId, UUID userId, long at) {
+    }
+
+    @Override
+    public void remove(UUID groupId, UUID userId) {
+    }
+
+    @Override
+    public Set<UUID> onlineElsewhere(UUID groupId, Collection<UUID> userIds, long since) {
+        return Set.of();
+    }
+
+    @Override
+    public Set<UUID> onlineUsers(UUID groupId, long since) {
+        return Set.of();
+    }
+
+    @Override
+    public Map<UUID, List<UUID>> reapExpired(long before) {
+        return Map.of();
+    }
+}
@@ -0,0 +1,195 @@
+package com.example.thesis.service;
+
+import com.example.thesis.models.enums.NotificationType;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.EnumSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+@Component
+public class NotificationCoalescer {
+
+    private static final Logger log = LoggerFactory.getLogger(NotificationCoalescer.class);
+
+    private static final Set<NotificationType> COALESCED = EnumSet.of(
+            NotificationType.FILE_ADDED, NotificationType.FILE_UPDATED, NotificationType.FILE_DELETED);
+    private static final int MAX_NAMED_ACTORS = 3;
+
+    private final NotificationFanout fanout;
+    private final NamedParameterJdbcTemplate jdbc;
+    private final long windowMs;
+    private final boolean digestEnabled;
+    private final long digestIntervalMs;
+    private final Map<String, Burst> bursts = new ConcurrentHashMap<>();
+
+    public NotificationCoalescer(NotificationFanout fanout,
+                                 JdbcTemplate jdbcTemplate,
+                                 @Value("${app.notifications.coalesce-window-ms:5000}") long windowMs,
+                                 @Value("${app.notifications.digest-enabled:false}") boolean digestEnabled,
+                                 @Value("${app.notifications.digest-interval-ms:3600000}") long digestIntervalMs) {
+        this.fanout = fanout;
+        this.jdbc = new NamedParameterJdbcTemplate(jdbcTemplate);
+        this.windowMs = windowMs;
+        this.digestEnabled = digestEnabled;
+        this.digestIntervalMs = digestIntervalMs;
+    }
+
+    public void submit(NotificationType type, String message, UUID groupId, UUID actorId) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    offer(type, message, groupId, actorId);
+                }
+            });
+        } else {
+            offer(type, message, groupId, actorId);
+        }
+    }
+
+    void offer(NotificationType type, String message, UUID groupId, UUID actorId) {
+        long window = digestEnabled ? digestIntervalMs : windowMs;
+        if (!COALESCED.contains(type) || window <= 0) {
+            fanout.dispatch(type, message, groupId, actorId != null ? Set.of(actorId) : Set.of());
+            return;
+        }
+        long deadline = System.currentTimeMillis() + window;
+        bursts.compute(groupId + "|" + type, (k, burst) -> {
+            Burst b = burst != null ? burst : new Burst(groupId, type, deadline);
+            b.count++;
+            b.countByActor.merge(actorId, 1, Integer::sum);
+            b.firstByActor.putIfAbsent(actorId, message);
+            return b;
+        });
+    }
+
+    @Scheduled(fixedDelayString = "${app.notifications.coalesce-tick-ms:1000}")
+    public void flushDue() {
+        flush(System.currentTimeMillis(), false);
+    }
+
+    @PreDestroy
+    public void flushAll() {
+        flush(System.currentTimeMillis(), true);
+    }
+
+    void flush(long now, boolean all) {
+        for (Map.Entry<String, Burst> e : bursts.entrySet()) {
+            Burst b = e.getValue();
+            if ((all || b.deadline <= now) && bursts.remove(e.getKey(), b)) {
+                emit(b);
+            }
+        }
+    }
+
+    private void emit(Burst burst) {
+        Set<UUID> actors = new LinkedHashSet<>(burst.countByActor.keySet());
+        actors.remove(null);
+        String groupName = null;
+        Map<UUID, String> names = null;
+        if (burst.count > 1) {
+            try {
+                groupName = groupName(burst.groupId);
+                names = actorNames(actors);
+            } catch (RuntimeException e) {
+                log.warn("[NOTIFY] Не удалось собрать сводку для группы {}: {}", burst.groupId, e.getMessage());
+            }
+        }
+        fanout.dispatch(burst.type, describe(burst, null, groupName, names), burst.groupId, actors);
+        for (UUID actor : actors) {
+            String message = describe(burst, actor, groupName, names);
+            if (message != null) {
+                fanout.dispatchTo(burst.type, message, burst.groupId, Set.of(actor));
+            }
+        }
+    }
+
+    private String describe(Burst burst, UUID viewer, String groupName, Map<UUID, String> names) {
+        int count = burst.count - (viewer != null ? burst.countByActor.getOrDefault(viewer, 0) : 0);
+        String single = null;
+        for (Map.Entry<UUID, String> e : burst.firstByActor.entrySet()) {
+            if (viewer == null || !viewer.equals(e.getKey())) {
+                single = e.getValue();
+                break;
+            }
+        }
+        if (count <= 1 || names == null) {
+            return count == 0 ? null : single;
+        }
+        List<String> actors = names.entrySet().stream()
+                .filter(e -> !e.getKey().equals(viewer))
+                .map(Map.Entry::getValue)
+                .toList();
+        return summarize(burst.type, groupName, actors, count);
+    }
+
+    String groupName(UUID groupId) {
+        List<String> names = jdbc.queryForList("SELECT name FROM work_groups WHERE id = :id",
+                new MapSqlParameterSource("id", groupId), String.class);
+        return names.isEmpty() ? null : names.get(0);
+    }
+
+    Map<UUID, String> actorNames(Set<UUID> actors) {
+        Map<UUID, String> names = new LinkedHashMap<>();
+        if (actors.isEmpty()) {
+            return names;
+        }
+        jdbc.query("SELECT id, username FROM users WHERE id IN (:ids) ORDER BY username",
+                new MapSqlParameterSource("ids", actors),
+                rs -> {
+                    names.put(rs.getObject("id", UUID.class), rs.getString("username"));
+                });
+        return names;
+    }
+
+    static String summarize(NotificationType type, String groupName, List<String> actors, int count) {
+        String action = switch (type) {
+            case FILE_ADDED -> "загружено файлов";
+            case FILE_DELETED -> "удалено файлов";
+            default -> "изменено файлов";
+        };
+        StringBuilder sb = new StringBuilder();
+        if (groupName != null) {
+            sb.append("«").append(groupName).append("»: ");
+        }
+        if (!actors.isEmpty()) {
+            sb.append(String.join(", ", actors.subList(0, Math.min(MAX_NAMED_ACTORS, actors.size()))));
+            if (actors.size() > MAX_NAMED_ACTORS) {
+                sb.append(" и ещё ").append(actors.size() - MAX_NAMED_ACTORS);
+            }
+            sb.append(" — ");
+        }
+        return sb.append(action).append(": ").append(count).toString();
+    }
+
+    private static final class Burst {
+        private final UUID groupId;
+        private final NotificationType type;
+        private final long deadline;
+        private final Map<UUID, Integer> countByActor = new LinkedHashMap<>();
+        private final Map<UUID, String> firstByActor = new LinkedHashMap<>();
+        private int count;
+
+        private Burst(UUID groupId, NotificationType type, long deadline) {
+            this.groupId = groupId;
+            this.type = type;
+            this.deadline = deadline;
+        }
+    }
+}
@@ -0,0 +1,104 @@
+package com.example.thesis.service;
+
+import com.example.thesis.dto.NotificationDto;
+import com.example.thesis.models.enums.NotificationType;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import com.example.thesis.repository.NotificationCounterRepository;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.messaging.simp.SimpMessagingTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.Executor;
+
+@Component
+public class NotificationFanout {
+
+    private static final Logger log = LoggerFactory.getLogger(NotificationFanout.class);
+
+    private static final String INSERT_SQL = "INSERT INTO notifications " +
+            "(id, type, message, created_date, is_read, user_id, group_id) VALUES (?, ?, ?, ?, false, ?, ?)";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final SimpMessagingTemplate messagingTemplate;
+    private final NotificationCounterRepository counterRepository;
+    private final Executor executor;
+    private final int batchSize;
+
+    public NotificationFanout(JdbcTemplate jdbcTemplate,
+                              TransactionTemplate transactionTemplate,
+                              SimpMessagingTemplate messagingTemplate,
+                              NotificationCounterRepository counterRepository,
+                              @Qualifier("notificationExecutor") Executor executor,
+                              @Value("${app.notifications.batch-size:50}") int batchSize) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = transactionTemplate;
+        this.messagingTemplate = messagingTemplate;
+        this.counterRepository = counterRepository;
+        this.executor = executor;
+        this.batchSize = Math.max(1, batchSize);
+    }
+
+    public void dispatch(NotificationType type, String message, UUID groupId, Collection<UUID> excludeUserIds) {
+        executor.execute(() -> fanOut(type, message, groupId, excludeUserIds, null));
+    }
+
+    public void dispatchTo(NotificationType type, String message, UUID groupId, Collection<UUID> userIds) {
+        executor.execute(() -> fanOut(type, message, groupId, List.of(), userIds));
+    }
+
+    void fanOut(NotificationType type, String message, UUID groupId, Collection<UUID> excludeUserIds,
+                Collection<UUID> onlyUserIds) {
+        try {
+            List<String> names = jdbcTemplate.queryForList(
+                    "SELECT name FROM work_groups WHERE id = ?", String.class, groupId);
+            if (names.isEmpty()) {
+                return;
+            }
+            List<UUID> recipients = jdbcTemplate.queryForList(
+                    "SELECT user_id FROM memberships WHERE group_id = ? AND notifications_muted = false",
+                    UUID.class, groupId);
+            recipients.removeAll(excludeUserIds);
+            if (onlyUserIds != null) {
+                recipients.retainAll(onlyUserIds);
+            }
+            LocalDateTime now = LocalDateTime.now();
+            for (int from = 0; from < recipients.size(); from += batchSize) {
+                List<UUID> chunk = recipients.subList(from, Math.min(recipients.size(), from + batchSize));
+                List<NotificationDto> created = insertChunk(type, message, groupId, names.get(0), chunk, now);
+                for (int i = 0; i < chunk.size(); i++) {
+                    messagingTemplate.convertAndSendToUser(chunk.get(i).toString(), "/queue/notifications", created.get(i));
+                }
+            }
+        } catch (RuntimeException e) {
+            log.warn("[NOTIFY] Не удалось разослать уведомление {} в группу {}: {}", type, groupId, e.getMessage());
+        }
+    }
+
+    private List<NotificationDto> insertChunk(NotificationType type, String message, UUID groupId, String groupName,
+                                              List<UUID> userIds, LocalDateTime now) {
+        List<NotificationDto> created = new ArrayList<>(userIds.size());
+        List<Object[]> rows = new ArrayList<>(userIds.size());
+        Timestamp ts = Timestamp.valueOf(now);
+        for (UUID userId : userIds) {
+            UUID id = UUID.randomUUID();
+            rows.add(new Object[]{id, type.name(), message, ts, userId, groupId});
+            created.add(new NotificationDto(id, type, message, now, false, null, groupId, groupName));
+        }
+        transactionTemplate.executeWithoutResult(status -> {
+            jdbcTemplate.batchUpdate(INSERT_SQL, rows);
+            counterRepository.incrementAll(userIds);
+        });
+        return created;
+    }
+}
@@ -0,0 +1,75 @@
+package com.example.thesis.service;
+
+import com.example.thesis.repository.NotificationCounterRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+@Component
+public class NotificationRetentionJob {
+
+    private static final Logger log = LoggerFactory.getLogger(NotificationRetentionJob.class);
+
+    private final NotificationCounterRepository counterRepository;
+    private final int retentionDays;
+    private final int batchSize;
+    private final long pauseMs;
+    private final AtomicBoolean running = new AtomicBoolean(false);
+
+    public NotificationRetentionJob(NotificationCounterRepository counterRepository,
+                                    @Value("${app.notifications.retention-days:90}") int retentionDays,
+                                    @Value("${app.notifications.batch-size:50}") int batchSize,
+                                    @Value("${app.notifications.purge-pause-ms:100}") long pauseMs) {
+        this.counterRepository = counterRepository;
+        this.retentionDays = retentionDays;
+        this.batchSize = Math.max(1, batchSize);
+        this.pauseMs = pauseMs;
+    }
+
+    @Scheduled(cron = "${app.notifications.purge-cron:0 30 4 * * *}")
+    public void scheduledRun() {
+        if (retentionDays > 0) {
+            purge();
+        }
+    }
+
+    public long purge() {
+        if (!running.compareAndSet(false, true)) {
+            return 0;
+        }
+        long total = 0;
+        try {
+            LocalDateTime cutoff = LocalDateTime.now().minusDays(retentionDays);
+            int purged;
+            do {
+                purged = counterRepository.purgeOlderThan(cutoff, batchSize);
+                total += purged;
+                pause();
+            } while (purged >= batchSize);
+            if (total > 0) {
+                log.info("[NOTIFY] Удалено устаревших уведомлений: {} (старше {})", total, cutoff);
+            }
+        } catch (RuntimeException e) {
+            log.warn("[NOTIFY] Ошибка очистки уведомлений после {} удалённых: {}", total, e.getMessage());
+        } finally {
+            running.set(false);
+        }
+        return total;
+    }
+
+    private void pause() {
+        if (pauseMs <= 0) {
+            return;
+        }
+        try {
+            Thread.sleep(pauseMs);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
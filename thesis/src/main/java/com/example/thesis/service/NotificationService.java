@@ -1,16 +1,21 @@
 package com.example.thesis.service;
 
+import com.example.thesis.dto.NotificationPage;
 import com.example.thesis.models.Notification;
 import com.example.thesis.models.User;
 import com.example.thesis.models.enums.NotificationType;
+import java.util.Collection;
 import java.util.List;
 import java.util.UUID;
 
 public interface NotificationService {
     Notification createNotification(NotificationType type, String message, User user, UUID groupId);
+    List<Notification> createNotifications(NotificationType type, String message, Collection<UUID> userIds, UUID groupId);
     void createGroupNotification(NotificationType type, String message, UUID groupId, UUID excludeUserId);
     List<Notification> getUserNotifications(UUID userId);
     List<Notification> getUnreadNotifications(UUID userId);
+    NotificationPage getNotificationPage(UUID userId, NotificationType type, UUID groupId, Boolean read,
+                                         String cursor, int limit);
     void markAsRead(UUID notificationId, UUID userId);
     void markAllAsRead(UUID userId);
     void deleteNotification(UUID notificationId, UUID userId);
@@ -0,0 +1,136 @@
+package com.example.thesis.service;
+
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.simp.SimpMessageHeaderAccessor;
+import org.springframework.messaging.simp.SimpMessagingTemplate;
+import org.springframework.messaging.support.MessageBuilder;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.util.MimeType;
+
+import java.nio.charset.StandardCharsets;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+@Component
+public class OutboxDispatcher {
+
+    private static final Logger log = LoggerFactory.getLogger(OutboxDispatcher.class);
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final SimpMessagingTemplate messagingTemplate;
+    private final int batchSize;
+    private final int retentionHours;
+    private final AtomicBoolean pending = new AtomicBoolean(false);
+    private final ExecutorService executor = Executors.newSingleThreadExecutor(r -> {
+        Thread t = new Thread(r, "outbox-dispatcher");
+        t.setDaemon(true);
+        return t;
+    });
+
+    public OutboxDispatcher(JdbcTemplate jdbcTemplate,
+                            TransactionTemplate transactionTemplate,
+                            SimpMessagingTemplate messagingTemplate,
+                            @Value("${app.outbox.batch-size:200}") int batchSize,
+                            @Value("${app.outbox.retention-hours:24}") int retentionHours) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = transactionTemplate;
+        this.messagingTemplate = messagingTemplate;
+        this.batchSize = Math.max(1, batchSize);
+        this.retentionHours = Math.max(1, retentionHours);
+    }
+
+    public void requestDispatch() {
+        if (pending.compareAndSet(false, true)) {
+            executor.execute(() -> {
+                pending.set(false);
+                drain();
+            });
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${app.outbox.poll-interval-ms:1000}")
+    public void poll() {
+        requestDispatch();
+    }
+
+    @Scheduled(cron = "${app.outbox.purge-cron:0 15 * * * *}")
+    public void purgePublished() {
+        int deleted = jdbcTemplate.update("DELETE FROM outbox_event WHERE published_at < ?",
+                Timestamp.valueOf(LocalDateTime.now().minusHours(retentionHours)));
+        if (deleted > 0) {
+            log.debug("[OUTBOX] Удалено опубликованных событий: {}", deleted);
+        }
+    }
+
+    private void drain() {
+        try {
+            int n;
+            do {
+                Integer sent = transactionTemplate.execute(status -> dispatchBatch());
+                n = sent != null ? sent : 0;
+            } while (n == batchSize);
+        } catch (RuntimeException e) {
+            log.warn("[OUTBOX] Ошибка при отправке событий: {}", e.getMessage());
+        }
+    }
+
+    private int dispatchBatch() {
+        List<Map<String, Object>> rows = jdbcTemplate.queryForList(
+                "SELECT id, destination, user_name, payload, content_type FROM outbox_event " +
+                        "WHERE published_at IS NULL ORDER BY id LIMIT ? FOR UPDATE SKIP LOCKED",
+                batchSize);
+        List<Object[]> published = new ArrayList<>(rows.size());
+        for (Map<String, Object> row : rows) {
+            try {
+                send(row);
+                published.add(new Object[]{row.get("id")});
+            } catch (RuntimeException e) {
+                log.warn("[OUTBOX] Не удалось отправить событие {}: {}", row.get("id"), e.getMessage());
+                break;
+            }
+        }
+        if (!published.isEmpty()) {
+            jdbcTemplate.batchUpdate("UPDATE outbox_event SET published_at = now() WHERE id = ?", published);
+        }
+        return published.size() == rows.size() ? rows.size() : 0;
+    }
+
+    private void send(Map<String, Object> row) {
+        String destination = (String) row.get("destination");
+        String user = (String) row.get("user_name");
+        String contentType = (String) row.get("content_type");
+
+        SimpMessageHeaderAccessor accessor = SimpMessageHeaderAccessor.create();
+        if (contentType != null) {
+            accessor.setContentType(MimeType.valueOf(contentType));
+        }
+        accessor.setLeaveMutable(true);
+        Message<byte[]> message = MessageBuilder.createMessage(
+                ((String) row.get("payload")).getBytes(StandardCharsets.UTF_8), accessor.getMessageHeaders());
+
+        if (user != null) {
+            messagingTemplate.send(messagingTemplate.getUserDestinationPrefix() + user + destination, message);
+        } else {
+            messagingTemplate.send(destination, message);
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdown();
+    }
+}
@@ -1,41 +1,269 @@
 package com.example.thesis.service;
 
+import com.example.thesis.dto.PresenceDelta;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.messaging.simp.SimpMessagingTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
 
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 import java.util.UUID;
 import java.util.concurrent.ConcurrentHashMap;
 
+/**
+ * Online state per group. Each member occupies one slot in a hashed timing wheel keyed by its
+ * expiry tick, so heartbeats are O(1) and the sweeper only looks at entries that may have expired.
+ * Join/leave changes are collected per group and broadcast as debounced deltas; when several nodes
+ * share a {@link PresenceStore}, changes masked by a connection on another node are not announced.
+ */
 @Service
 public class PresenceService {
 
-    private static final long ONLINE_MS = 45_000;
+    private static final Logger log = LoggerFactory.getLogger(PresenceService.class);
 
-    private final ConcurrentHashMap<UUID, ConcurrentHashMap<UUID, Long>> byGroup = new ConcurrentHashMap<>();
     private final SimpMessagingTemplate messagingTemplate;
+    private final PresenceStore store;
+    private final long onlineMs;
+    private final long tickMs;
+    private final long debounceMs;
+    private final List<Set<Member>> wheel;
+    private final Map<UUID, GroupPresence> byGroup = new ConcurrentHashMap<>();
+    private final Set<GroupPresence> dirty = ConcurrentHashMap.newKeySet();
+    private long lastTick;
 
-    public PresenceService(SimpMessagingTemplate messagingTemplate) {
+    public PresenceService(SimpMessagingTemplate messagingTemplate,
+                           PresenceStore store,
+                           @Value("${app.presence.online-ms:45000}") long onlineMs,
+                           @Value("${app.presence.tick-ms:1000}") long tickMs,
+                           @Value("${app.presence.debounce-ms:2000}") long debounceMs) {
         this.messagingTemplate = messagingTemplate;
+        this.store = store;
+        this.onlineMs = onlineMs;
+        this.tickMs = Math.max(1, tickMs);
+        this.debounceMs = debounceMs;
+        int slots = (int) (onlineMs / this.tickMs) + 2;
+        this.wheel = new ArrayList<>(slots);
+        for (int i = 0; i < slots; i++) {
+            wheel.add(ConcurrentHashMap.newKeySet());
+        }
+        this.lastTick = System.currentTimeMillis() / this.tickMs;
     }
 
     public void heartbeat(UUID groupId, UUID userId) {
-        byGroup.computeIfAbsent(groupId, g -> new ConcurrentHashMap<>()).put(userId, System.currentTimeMillis());
-        broadcast(groupId);
+        touch(groupId, userId, System.currentTimeMillis());
+    }
+
+    void touch(UUID groupId, UUID userId, long now) {
+        store.touch(groupId, userId, now);
+        GroupPresence group = byGroup.computeIfAbsent(groupId, GroupPresence::new);
+        Member member;
+        synchronized (group) {
+            member = group.members.get(userId);
+            if (member != null) {
+                member.lastSeen = now;
+                return;
+            }
+            member = new Member(group, userId, now);
+            group.members.put(userId, member);
+            if (!group.left.remove(userId)) {
+                group.joined.add(userId);
+            }
+            markDirty(group, now);
+        }
+        schedule(member);
+    }
+
+    public void leave(UUID groupId, UUID userId) {
+        GroupPresence group = byGroup.get(groupId);
+        if (group == null) {
+            return;
+        }
+        synchronized (group) {
+            if (group.members.remove(userId) == null) {
+                return;
+            }
+            store.remove(groupId, userId);
+            if (!group.joined.remove(userId)) {
+                group.left.add(userId);
+            }
+            markDirty(group, System.currentTimeMillis());
+        }
     }
 
     public List<UUID> getOnlineUserIds(UUID groupId) {
-        long cutoff = System.currentTimeMillis() - ONLINE_MS;
-        ConcurrentHashMap<UUID, Long> m = byGroup.get(groupId);
-        if (m == null) {
-            return List.of();
+        long cutoff = System.currentTimeMillis() - onlineMs;
+        Set<UUID> online = new HashSet<>();
+        GroupPresence group = byGroup.get(groupId);
+        if (group != null) {
+            synchronized (group) {
+                for (Member m : group.members.values()) {
+                    if (m.lastSeen >= cutoff) {
+                        online.add(m.userId);
+                    }
+                }
+            }
+        }
+        try {
+            online.addAll(store.onlineUsers(groupId, cutoff));
+        } catch (RuntimeException e) {
+            log.warn("[PRESENCE] Не удалось получить присутствие других узлов: {}", e.getMessage());
+        }
+        return online.stream().sorted().toList();
+    }
+
+    public String getNodeId() {
+        return store.nodeId();
+    }
+
+    public long getSequence(UUID groupId) {
+        GroupPresence group = byGroup.get(groupId);
+        if (group == null) {
+            return 0;
+        }
+        synchronized (group) {
+            return group.seq;
+        }
+    }
+
+    @Scheduled(fixedRateString = "${app.presence.tick-ms:1000}")
+    public void sweep() {
+        advance(System.currentTimeMillis());
+    }
+
+    synchronized void advance(long now) {
+        long tick = now / tickMs;
+        long from = Math.max(lastTick + 1, tick - wheel.size() + 1);
+        for (long t = from; t <= tick; t++) {
+            Set<Member> slot = wheel.get((int) (t % wheel.size()));
+            for (Member member : List.copyOf(slot)) {
+                slot.remove(member);
+                expireOrReschedule(member, now);
+            }
         }
-        m.entrySet().removeIf(e -> e.getValue() < cutoff);
-        return m.keySet().stream().sorted().toList();
+        lastTick = Math.max(lastTick, tick);
+        flushDue(now);
     }
 
-    private void broadcast(UUID groupId) {
-        List<String> ids = getOnlineUserIds(groupId).stream().map(UUID::toString).toList();
-        messagingTemplate.convertAndSend("/topic/group." + groupId + ".presence", ids);
+    @Scheduled(fixedDelayString = "${app.presence.reap-ms:15000}")
+    public void reap() {
+        long now = System.currentTimeMillis();
+        Map<UUID, List<UUID>> expired;
+        try {
+            expired = store.reapExpired(now - onlineMs);
+        } catch (RuntimeException e) {
+            log.warn("[PRESENCE] Не удалось очистить устаревшее присутствие: {}", e.getMessage());
+            return;
+        }
+        expired.forEach((groupId, userIds) -> {
+            GroupPresence group = byGroup.computeIfAbsent(groupId, GroupPresence::new);
+            synchronized (group) {
+                for (UUID userId : userIds) {
+                    if (!group.members.containsKey(userId) && !group.joined.remove(userId)) {
+                        group.left.add(userId);
+                        markDirty(group, now);
+                    }
+                }
+            }
+        });
+    }
+
+    private void expireOrReschedule(Member member, long now) {
+        GroupPresence group = member.group;
+        synchronized (group) {
+            if (member.lastSeen + onlineMs <= now) {
+                if (group.members.remove(member.userId, member)) {
+                    store.remove(group.groupId, member.userId);
+                    if (!group.joined.remove(member.userId)) {
+                        group.left.add(member.userId);
+                    }
+                    markDirty(group, now);
+                }
+                return;
+            }
+        }
+        schedule(member);
+    }
+
+    private void schedule(Member member) {
+        long tick = (member.lastSeen + onlineMs) / tickMs + 1;
+        wheel.get((int) (tick % wheel.size())).add(member);
+    }
+
+    private void markDirty(GroupPresence group, long now) {
+        if (group.flushAt == 0) {
+            group.flushAt = now + debounceMs;
+            dirty.add(group);
+        }
+    }
+
+    private void flushDue(long now) {
+        for (GroupPresence group : dirty) {
+            List<UUID> joined;
+            List<UUID> left;
+            synchronized (group) {
+                if (group.flushAt == 0 || group.flushAt > now) {
+                    continue;
+                }
+                dirty.remove(group);
+                group.flushAt = 0;
+                joined = new ArrayList<>(group.joined);
+                left = new ArrayList<>(group.left);
+                group.joined.clear();
+                group.left.clear();
+            }
+            if (joined.isEmpty() && left.isEmpty()) {
+                continue;
+            }
+            Set<UUID> changed = new HashSet<>(joined);
+            changed.addAll(left);
+            try {
+                Set<UUID> elsewhere = store.onlineElsewhere(group.groupId, changed, now - onlineMs);
+                joined.removeAll(elsewhere);
+                left.removeAll(elsewhere);
+            } catch (RuntimeException e) {
+                log.warn("[PRESENCE] Не удалось проверить присутствие на других узлах: {}", e.getMessage());
+            }
+            if (joined.isEmpty() && left.isEmpty()) {
+                continue;
+            }
+            PresenceDelta delta;
+            synchronized (group) {
+                delta = new PresenceDelta(store.nodeId(), ++group.seq, joined, left);
+            }
+            messagingTemplate.convertAndSend("/topic/group." + group.groupId + ".presence.delta", delta);
+        }
+    }
+
+    private static final class GroupPresence {
+        private final UUID groupId;
+        private final Map<UUID, Member> members = new HashMap<>();
+        private final Set<UUID> joined = new LinkedHashSet<>();
+        private final Set<UUID> left = new LinkedHashSet<>();
+        private long seq;
+        private long flushAt;
+
+        private GroupPresence(UUID groupId) {
+            this.groupId = groupId;
+        }
+    }
+
+    private static final class Member {
+        private final GroupPresence group;
+        private final UUID userId;
+        private volatile long lastSeen;
+
+        private Member(GroupPresence group, UUID userId, long lastSeen) {
+            this.group = group;
+            this.userId = userId;
+            this.lastSeen = lastSeen;
+        }
     }
 }
@@ -0,0 +1,207 @@
+package com.example.thesis.service;
+
+import com.example.thesis.models.User;
+import com.example.thesis.repository.MembershipRepository;
+import com.example.thesis.repository.UserRepository;
+import org.springframework.context.event.EventListener;
+import org.springframework.messaging.simp.SimpMessageHeaderAccessor;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.web.socket.messaging.SessionDisconnectEvent;
+import org.springframework.web.socket.messaging.SessionSubscribeEvent;
+import org.springframework.web.socket.messaging.SessionUnsubscribeEvent;
+
+import java.security.Principal;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Derives presence from the STOMP session lifecycle: subscribing to a group topic puts the user
+ * online in that group, a per-connection keepalive refreshes every group of the session, and
+ * disconnecting takes the user offline. Membership is checked once per session and group.
+ */
+@Component
+public class PresenceSessionTracker {
+
+    private static final String GROUP_PREFIX = "/topic/group.";
+
+    private final PresenceService presenceService;
+    private final MembershipRepository membershipRepository;
+    private final UserRepository userRepository;
+    private final Map<String, Session> sessions = new ConcurrentHashMap<>();
+
+    public PresenceSessionTracker(PresenceService presenceService,
+                                  MembershipRepository membershipRepository,
+                                  UserRepository userRepository) {
+        this.presenceService = presenceService;
+        this.membershipRepository = membershipRepository;
+        this.userRepository = userRepository;
+    }
+
+    @EventListener
+    public void onSubscribe(SessionSubscribeEvent event) {
+        SimpMessageHeaderAccessor accessor = SimpMessageHeaderAccessor.wrap(event.getMessage());
+        UUID groupId = groupOf(accessor.getDestination());
+        if (groupId == null || accessor.getSessionId() == null || accessor.getSubscriptionId() == null) {
+            return;
+        }
+        Session session = session(accessor.getSessionId(), event.getUser());
+        if (session == null) {
+            return;
+        }
+        synchronized (session) {
+            session.subscriptions.put(accessor.getSubscriptionId(), groupId);
+        }
+        if (isMember(session, groupId)) {
+            presenceService.heartbeat(groupId, session.userId);
+        }
+    }
+
+    @EventListener
+    public void onUnsubscribe(SessionUnsubscribeEvent event) {
+        SimpMessageHeaderAccessor accessor = SimpMessageHeaderAccessor.wrap(event.getMessage());
+        Session session = accessor.getSessionId() != null ? sessions.get(accessor.getSessionId()) : null;
+        if (session == null) {
+            return;
+        }
+        UUID groupId;
+        synchronized (session) {
+            groupId = session.subscriptions.remove(accessor.getSubscriptionId());
+            if (groupId == null || session.subscriptions.containsValue(groupId)) {
+                return;
+            }
+        }
+        leaveIfLastSession(session, groupId);
+    }
+
+    @EventListener
+    public void onDisconnect(SessionDisconnectEvent event) {
+        Session session = sessions.remove(event.getSessionId());
+        if (session == null) {
+            return;
+        }
+        Set<UUID> groups;
+        synchronized (session) {
+            groups = new HashSet<>(session.subscriptions.values());
+        }
+        for (UUID groupId : groups) {
+            leaveIfLastSession(session, groupId);
+        }
+    }
+
+    public void keepalive(String sessionId) {
+        Session session = sessionId != null ? sessions.get(sessionId) : null;
+        if (session == null) {
+            return;
+        }
+        Set<UUID> groups;
+        synchronized (session) {
+            groups = new HashSet<>(session.subscriptions.values());
+        }
+        for (UUID groupId : groups) {
+            if (isMember(session, groupId)) {
+                presenceService.heartbeat(groupId, session.userId);
+            }
+        }
+    }
+
+    public UUID memberId(String sessionId, Principal principal, UUID groupId) {
+        Session session = sessionId != null ? session(sessionId, principal) : null;
+        return session != null && isMember(session, groupId) ? session.userId : null;
+    }
+
+    public void invalidate(UUID groupId) {
+        evict(groupId);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    evict(groupId);
+                }
+            });
+        }
+    }
+
+    private void evict(UUID groupId) {
+        for (Session session : sessions.values()) {
+            synchronized (session) {
+                session.membership.remove(groupId);
+            }
+        }
+    }
+
+    private boolean isMember(Session session, UUID groupId) {
+        Boolean cached;
+        synchronized (session) {
+            cached = session.membership.get(groupId);
+        }
+        if (cached != null) {
+            return cached;
+        }
+        boolean member = membershipRepository.isUserMemberOfGroup(session.userId, groupId);
+        synchronized (session) {
+            session.membership.put(groupId, member);
+        }
+        if (!member) {
+            leaveIfLastSession(session, groupId);
+        }
+        return member;
+    }
+
+    private void leaveIfLastSession(Session leaving, UUID groupId) {
+        for (Session other : sessions.values()) {
+            if (other == leaving || !other.userId.equals(leaving.userId)) {
+                continue;
+            }
+            synchronized (other) {
+                if (other.subscriptions.containsValue(groupId) && Boolean.TRUE.equals(other.membership.get(groupId))) {
+                    return;
+                }
+            }
+        }
+        presenceService.leave(groupId, leaving.userId);
+    }
+
+    private Session session(String sessionId, Principal principal) {
+        Session existing = sessions.get(sessionId);
+        if (existing != null || principal == null) {
+            return existing;
+        }
+        UUID userId = userRepository.findByUsername(principal.getName())
+                .or(() -> userRepository.findByEmail(principal.getName()))
+                .map(User::getId)
+                .orElse(null);
+        if (userId == null) {
+            return null;
+        }
+        return sessions.computeIfAbsent(sessionId, id -> new Session(userId));
+    }
+
+    private static UUID groupOf(String destination) {
+        if (destination == null || !destination.startsWith(GROUP_PREFIX)) {
+            return null;
+        }
+        int dot = destination.indexOf('.', GROUP_PREFIX.length());
+        try {
+            return UUID.fromString(dot < 0 ? destination.substring(GROUP_PREFIX.length())
+                    : destination.substring(GROUP_PREFIX.length(), dot));
+        } catch (IllegalArgumentException e) {
+            return null;
+        }
+    }
+
+    private static final class Session {
+        private final UUID userId;
+        private final Map<String, UUID> subscriptions = new HashMap<>();
+        private final Map<UUID, Boolean> membership = new HashMap<>();
+
+        private Session(UUID userId) {
+            this.userId = userId;
+        }
+    }
+}
@@ -0,0 +1,26 @@
+package com.example.thesis.service;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * Shares presence heartbeats between backend nodes. {@link PresenceService} keeps the authoritative
+ * state for its own connections and consults the store for members that are online on other nodes.
+ */
+public interface PresenceStore {
+
+    String nodeId();
+
+    void touch(UUID groupId, UUID userId, long at);
+
+    void remove(UUID groupId, UUID userId);
+
+    Set<UUID> onlineElsewhere(UUID groupId, Collection<UUID> userIds, long since);
+
+    Set<UUID> onlineUsers(UUID groupId, long since);
+
+    Map<UUID, List<UUID>> reapExpired(long before);
+}
@@ -0,0 +1,38 @@
+package com.example.thesis.service;
+
+import com.example.thesis.models.FileContentRevision;
+import com.example.thesis.models.FileRevisionText;
+import com.example.thesis.repository.FileRevisionTextRepository;
+import com.example.thesis.storage.TextSnapshotCodec;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.UUID;
+
+@Service
+public class RevisionTextStore {
+
+    private final FileRevisionTextRepository fileRevisionTextRepository;
+
+    public RevisionTextStore(FileRevisionTextRepository fileRevisionTextRepository) {
+        this.fileRevisionTextRepository = fileRevisionTextRepository;
+    }
+
+    @Transactional
+    public void save(FileContentRevision revision, String text) {
+        if (text == null || text.isEmpty()) {
+            return;
+        }
+        FileRevisionText row = new FileRevisionText();
+        row.setRevision(revision);
+        row.setCompressedText(TextSnapshotCodec.compress(text));
+        row.setCharLength(text.length());
+        fileRevisionTextRepository.save(row);
+    }
+
+    public String load(UUID revisionId) {
+        return fileRevisionTextRepository.findById(revisionId)
+                .map(t -> TextSnapshotCodec.decompress(t.getCompressedText()))
+                .orElse(null);
+    }
+}
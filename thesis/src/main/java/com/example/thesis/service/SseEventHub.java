@@ -0,0 +1,363 @@
+package com.example.thesis.service;
+
+import com.example.thesis.repository.MembershipRepository;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.MediaType;
+import org.springframework.lang.NonNull;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.MessageChannel;
+import org.springframework.messaging.simp.SimpMessageHeaderAccessor;
+import org.springframework.messaging.support.ChannelInterceptor;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Deque;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Mirrors user-queue and group-topic messages from the broker channel into SSE streams,
+ * keeping a bounded replay buffer so reconnecting clients can resume from Last-Event-ID.
+ * Each subscriber drains its own bounded queue; one that falls too far behind is completed
+ * and catches up from the buffer when it reconnects.
+ */
+@Component
+public class SseEventHub implements ChannelInterceptor {
+
+    private static final Logger log = LoggerFactory.getLogger(SseEventHub.class);
+
+    private static final String USER_PREFIX = "/user/";
+    private static final String GROUP_PREFIX = "/topic/group.";
+    private static final List<String> SKIPPED_PREFIXES = List.of("presence", "typing");
+    private static final Event PING = new Event(0, null, null, null, null);
+
+    private final MembershipRepository membershipRepository;
+    private final int bufferSize;
+    private final long timeoutMs;
+    private final int maxPending;
+    private final String epoch = Long.toString(System.currentTimeMillis(), 36);
+    private final Deque<Event> buffer = new ArrayDeque<>();
+    private long sequence;
+    private final Map<UUID, Set<Subscriber>> byUser = new ConcurrentHashMap<>();
+    private final Map<UUID, Set<Subscriber>> byGroup = new ConcurrentHashMap<>();
+    private final ExecutorService executor;
+
+    public SseEventHub(MembershipRepository membershipRepository,
+                       @Value("${app.sse.replay-buffer-size:2000}") int bufferSize,
+                       @Value("${app.sse.timeout-ms:1800000}") long timeoutMs,
+                       @Value("${app.sse.max-pending:500}") int maxPending,
+                       @Value("${app.sse.dispatch-threads:2}") int dispatchThreads) {
+        this.membershipRepository = membershipRepository;
+        this.bufferSize = Math.max(1, bufferSize);
+        this.timeoutMs = timeoutMs;
+        this.maxPending = Math.max(1, maxPending);
+        AtomicInteger threads = new AtomicInteger();
+        this.executor = Executors.newFixedThreadPool(Math.max(1, dispatchThreads), r -> {
+            Thread t = new Thread(r, "sse-dispatcher-" + threads.incrementAndGet());
+            t.setDaemon(true);
+            return t;
+        });
+    }
+
+    @Override
+    public Message<?> preSend(@NonNull Message<?> message, @NonNull MessageChannel channel) {
+        String destination = SimpMessageHeaderAccessor.getDestination(message.getHeaders());
+        if (destination != null) {
+            try {
+                capture(destination, message.getPayload());
+            } catch (RuntimeException e) {
+                log.debug("[SSE] Не удалось обработать событие {}: {}", destination, e.getMessage());
+            }
+        }
+        return message;
+    }
+
+    public SseEmitter subscribe(UUID userId, String lastEventId) {
+        SseEmitter emitter = new SseEmitter(timeoutMs);
+        Subscriber subscriber = new Subscriber(userId, emitter, membershipRepository.findGroupIdsByUserId(userId));
+        emitter.onCompletion(() -> unregister(subscriber));
+        emitter.onTimeout(emitter::complete);
+        emitter.onError(e -> emitter.complete());
+        synchronized (buffer) {
+            replay(subscriber, lastEventId);
+            register(subscriber);
+        }
+        return emitter;
+    }
+
+    public void invalidate(UUID groupId) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    refreshGroup(groupId);
+                }
+            });
+        } else {
+            refreshGroup(groupId);
+        }
+    }
+
+    void refreshGroup(UUID groupId) {
+        if (byUser.isEmpty()) {
+            return;
+        }
+        Set<UUID> members;
+        try {
+            members = new HashSet<>(membershipRepository.findUserIdsByGroupId(groupId));
+        } catch (RuntimeException e) {
+            log.warn("[SSE] Не удалось обновить участников группы {}: {}", groupId, e.getMessage());
+            return;
+        }
+        for (Set<Subscriber> subscribers : byUser.values()) {
+            for (Subscriber s : subscribers) {
+                if (members.contains(s.userId)) {
+                    if (s.groups.add(groupId)) {
+                        byGroup.computeIfAbsent(groupId, k -> ConcurrentHashMap.newKeySet()).add(s);
+                    }
+                } else if (s.groups.remove(groupId)) {
+                    removeFrom(byGroup, groupId, s);
+                }
+            }
+        }
+    }
+
+    @Scheduled(fixedRateString = "${app.sse.heartbeat-ms:20000}")
+    public void heartbeat() {
+        for (Set<Subscriber> subscribers : byUser.values()) {
+            for (Subscriber s : subscribers) {
+                enqueue(s, PING);
+            }
+        }
+    }
+
+    void capture(String destination, Object payload) {
+        UUID userId = null;
+        UUID groupId = null;
+        String name;
+        if (destination.startsWith(USER_PREFIX)) {
+            int slash = destination.indexOf('/', USER_PREFIX.length());
+            if (slash < 0) {
+                return;
+            }
+            userId = parseUuid(destination.substring(USER_PREFIX.length(), slash));
+            name = destination.substring(destination.lastIndexOf('/') + 1);
+            if (userId == null) {
+                return;
+            }
+        } else if (destination.startsWith(GROUP_PREFIX)) {
+            int dot = destination.indexOf('.', GROUP_PREFIX.length());
+            if (dot < 0) {
+                return;
+            }
+            groupId = parseUuid(destination.substring(GROUP_PREFIX.length(), dot));
+            name = destination.substring(dot + 1);
+            if (groupId == null || SKIPPED_PREFIXES.stream().anyMatch(name::startsWith)) {
+                return;
+            }
+        } else {
+            return;
+        }
+        String data = payload instanceof byte[] bytes ? new String(bytes, StandardCharsets.UTF_8) : String.valueOf(payload);
+        synchronized (buffer) {
+            Event event = new Event(++sequence, userId, groupId, name, data);
+            buffer.addLast(event);
+            if (buffer.size() > bufferSize) {
+                buffer.removeFirst();
+            }
+            Set<Subscriber> targets = userId != null ? byUser.get(userId) : byGroup.get(groupId);
+            if (targets != null) {
+                for (Subscriber s : targets) {
+                    enqueue(s, event);
+                }
+            }
+        }
+    }
+
+    private void enqueue(Subscriber s, Event event) {
+        if (s.closed) {
+            return;
+        }
+        if (s.pendingCount.incrementAndGet() > maxPending) {
+            log.debug("[SSE] Подписчик {} не успевает получать события, поток закрыт", s.userId);
+            close(s);
+            return;
+        }
+        s.pending.add(event);
+        if (s.draining.compareAndSet(false, true)) {
+            executor.execute(() -> drain(s));
+        }
+    }
+
+    private void drain(Subscriber s) {
+        do {
+            Event event;
+            while ((event = s.pending.poll()) != null) {
+                s.pendingCount.decrementAndGet();
+                if (!s.closed) {
+                    send(s, event);
+                }
+            }
+            s.draining.set(false);
+        } while (!s.pending.isEmpty() && s.draining.compareAndSet(false, true));
+    }
+
+    private void replay(Subscriber subscriber, String lastEventId) {
+        if (lastEventId == null || lastEventId.isBlank()) {
+            return;
+        }
+        long after = parseSequence(lastEventId);
+        List<Event> missed = new ArrayList<>();
+        Event oldest = buffer.peekFirst();
+        boolean gap = after < 0 || (oldest != null && oldest.id > after + 1) || after > sequence;
+        for (Event e : buffer) {
+            if (!gap && e.id > after && subscriber.accepts(e)) {
+                missed.add(e);
+            }
+        }
+        if (gap || missed.size() >= maxPending) {
+            enqueue(subscriber, new Event(sequence, null, null, "resync", "{}"));
+            return;
+        }
+        for (Event e : missed) {
+            enqueue(subscriber, e);
+        }
+    }
+
+    private void send(Subscriber s, Event event) {
+        try {
+            if (event == PING) {
+                s.emitter.send(SseEmitter.event().comment("ping"));
+                return;
+            }
+            if (event.id <= s.lastSentId) {
+                return;
+            }
+            s.emitter.send(SseEmitter.event()
+                    .id(id(event.id))
+                    .name(event.name)
+                    .data(event.data, MediaType.APPLICATION_JSON));
+            s.lastSentId = event.id;
+        } catch (IOException | IllegalStateException e) {
+            close(s);
+        }
+    }
+
+    private void close(Subscriber s) {
+        s.closed = true;
+        unregister(s);
+        s.emitter.complete();
+    }
+
+    private void register(Subscriber s) {
+        if (s.closed) {
+            return;
+        }
+        byUser.computeIfAbsent(s.userId, k -> ConcurrentHashMap.newKeySet()).add(s);
+        for (UUID groupId : s.groups) {
+            byGroup.computeIfAbsent(groupId, k -> ConcurrentHashMap.newKeySet()).add(s);
+        }
+    }
+
+    private void unregister(Subscriber s) {
+        removeFrom(byUser, s.userId, s);
+        for (UUID groupId : s.groups) {
+            removeFrom(byGroup, groupId, s);
+        }
+    }
+
+    private static void removeFrom(Map<UUID, Set<Subscriber>> index, UUID key, Subscriber s) {
+        index.computeIfPresent(key, (k, set) -> {
+            set.remove(s);
+            return set.isEmpty() ? null : set;
+        });
+    }
+
+    private String id(long seq) {
+        return epoch + ":" + seq;
+    }
+
+    long parseSequence(String lastEventId) {
+        int colon = lastEventId.indexOf(':');
+        if (colon < 0 || !lastEventId.substring(0, colon).equals(epoch)) {
+            return -1;
+        }
+        try {
+            return Long.parseLong(lastEventId.substring(colon + 1));
+        } catch (NumberFormatException e) {
+            return -1;
+        }
+    }
+
+    private static UUID parseUuid(String value) {
+        try {
+            return UUID.fromString(value);
+        } catch (IllegalArgumentException e) {
+            return null;
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdown();
+        byUser.values().forEach(set -> set.forEach(s -> s.emitter.complete()));
+    }
+
+    private static final class Event {
+        private final long id;
+        private final UUID userId;
+        private final UUID groupId;
+        private final String name;
+        private final String data;
+
+        private Event(long id, UUID userId, UUID groupId, String name, String data) {
+            this.id = id;
+            this.userId = userId;
+            this.groupId = groupId;
+            this.name = name;
+            this.data = data;
+        }
+    }
+
+    private static final class Subscriber {
+        private final UUID userId;
+        private final SseEmitter emitter;
+        private final Set<UUID> groups = ConcurrentHashMap.newKeySet();
+        private final Queue<Event> pending = new ConcurrentLinkedQueue<>();
+        private final AtomicInteger pendingCount = new AtomicInteger();
+        private final AtomicBoolean draining = new AtomicBoolean();
+        private volatile boolean closed;
+        private long lastSentId;
+
+        private Subscriber(UUID userId, SseEmitter emitter, Collection<UUID> groups) {
+            this.userId = userId;
+            this.emitter = emitter;
+            this.groups.addAll(groups);
+        }
+
+        private boolean accepts(Event e) {
+            return e.userId != null ? e.userId.equals(userId) : groups.contains(e.groupId);
+        }
+    }
+}
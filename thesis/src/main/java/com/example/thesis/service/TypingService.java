@@ -0,0 +1,81 @@
+package com.example.thesis.service;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.messaging.simp.SimpMessagingTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+@Service
+public class TypingService {
+
+    private final ConcurrentHashMap<UUID, ConcurrentHashMap<UUID, Long>> byGroup = new ConcurrentHashMap<>();
+    private final Set<UUID> dirtyGroups = ConcurrentHashMap.newKeySet();
+    private final SimpMessagingTemplate messagingTemplate;
+    private final long ttlMs;
+
+    public TypingService(SimpMessagingTemplate messagingTemplate,
+                         @Value("${app.chat.typing-ttl-ms:6000}") long ttlMs) {
+        this.messagingTemplate = messagingTemplate;
+        this.ttlMs = ttlMs;
+    }
+
+    public void update(UUID groupId, UUID userId, boolean typing) {
+        if (typing) {
+            long expiresAt = System.currentTimeMillis() + ttlMs;
+            byGroup.compute(groupId, (g, m) -> {
+                ConcurrentHashMap<UUID, Long> typers = m != null ? m : new ConcurrentHashMap<>();
+                if (typers.put(userId, expiresAt) == null) {
+                    dirtyGroups.add(groupId);
+                }
+                return typers;
+            });
+        } else {
+            stop(groupId, userId);
+        }
+    }
+
+    public void stop(UUID groupId, UUID userId) {
+        byGroup.computeIfPresent(groupId, (g, m) -> {
+            if (m.remove(userId) != null) {
+                dirtyGroups.add(groupId);
+            }
+            return m.isEmpty() ? null : m;
+        });
+    }
+
+    public List<UUID> getTypingUserIds(UUID groupId) {
+        ConcurrentHashMap<UUID, Long> m = byGroup.get(groupId);
+        if (m == null) {
+            return List.of();
+        }
+        return m.keySet().stream().sorted().toList();
+    }
+
+    int trackedGroupCount() {
+        return byGroup.size();
+    }
+
+    @Scheduled(fixedRateString = "${app.chat.typing-flush-ms:1000}")
+    public void flush() {
+        long now = System.currentTimeMillis();
+        for (UUID groupId : byGroup.keySet()) {
+            byGroup.computeIfPresent(groupId, (g, m) -> {
+                if (m.entrySet().removeIf(e -> e.getValue() < now)) {
+                    dirtyGroups.add(groupId);
+                }
+                return m.isEmpty() ? null : m;
+            });
+        }
+
+        for (UUID groupId : dirtyGroups) {
+            dirtyGroups.remove(groupId);
+            List<String> ids = getTypingUserIds(groupId).stream().map(UUID::toString).toList();
+            messagingTemplate.convertAndSend("/topic/group." + groupId + ".typing", ids);
+        }
+    }
+}
@@ -1,30 +1,48 @@
 package com.example.thesis.service.impl;
 
+import com.example.thesis.service.ChatArchiver;
 import com.example.thesis.service.ChatService;
+import com.example.thesis.service.ChatUnreadCounter;
+import com.example.thesis.service.EventOutbox;
+import com.example.thesis.service.GroupMentionIndex;
 import com.example.thesis.service.NotificationService;
+import com.example.thesis.service.TypingService;
 import com.example.thesis.models.ChatMessage;
 import com.example.thesis.models.FileMetadata;
-import com.example.thesis.models.Membership;
 import com.example.thesis.models.User;
 import com.example.thesis.models.WorkGroup;
 import com.example.thesis.models.enums.NotificationType;
+import com.example.thesis.dto.ChatCursor;
+import com.example.thesis.dto.ChatMessageDto;
+import com.example.thesis.dto.ChatMessagePage;
+import com.example.thesis.dto.ChatReadReceipt;
 import com.example.thesis.dto.ChatMessageRequest;
+import com.example.thesis.dto.ChatSearchHit;
+import com.example.thesis.dto.ChatSearchPage;
+import com.example.thesis.repository.ChatArchiveRepository;
 import com.example.thesis.repository.ChatMessageRepository;
+import com.example.thesis.repository.ChatSearchRepository;
 import com.example.thesis.repository.FileMetadataRepository;
 import com.example.thesis.repository.MembershipRepository;
 import com.example.thesis.repository.UserRepository;
 import com.example.thesis.repository.WorkGroupRepository;
-import org.springframework.messaging.simp.SimpMessagingTemplate;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
 import java.util.HashMap;
 import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
 import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 
@@ -32,34 +50,61 @@ import java.util.regex.Pattern;
 public class ChatServiceImpl implements ChatService {
 
     private static final Pattern MENTION_PATTERN = Pattern.compile("@([a-zA-Z0-9_.]{2,64})");
+    private static final int DEFAULT_PAGE_SIZE = 50;
+    private static final int MAX_PAGE_SIZE = 200;
+    private static final Comparator<UUID> PG_UUID_ORDER = Comparator
+            .comparing(UUID::getMostSignificantBits, Long::compareUnsigned)
+            .thenComparing(UUID::getLeastSignificantBits, Long::compareUnsigned);
+    private static final Comparator<ChatMessageDto> HISTORY_ORDER = Comparator
+            .comparing(ChatMessageDto::getTimestamp)
+            .thenComparing(ChatMessageDto::getId, PG_UUID_ORDER);
 
     private final ChatMessageRepository chatMessageRepository;
+    private final ChatSearchRepository chatSearchRepository;
     private final UserRepository userRepository;
     private final WorkGroupRepository workGroupRepository;
     private final MembershipRepository membershipRepository;
     private final FileMetadataRepository fileMetadataRepository;
     private final NotificationService notificationService;
-    private final SimpMessagingTemplate messagingTemplate;
+    private final EventOutbox eventOutbox;
+    private final GroupMentionIndex mentionIndex;
+    private final TypingService typingService;
+    private final ChatUnreadCounter unreadCounter;
+    private final ChatArchiveRepository chatArchiveRepository;
+    private final ChatArchiver chatArchiver;
+    private final Map<UUID, LocalDateTime> groupCreatedAt = new ConcurrentHashMap<>();
 
     public ChatServiceImpl(ChatMessageRepository chatMessageRepository,
+                           ChatSearchRepository chatSearchRepository,
                            UserRepository userRepository,
                            WorkGroupRepository workGroupRepository,
                            MembershipRepository membershipRepository,
                            FileMetadataRepository fileMetadataRepository,
                            NotificationService notificationService,
-                           SimpMessagingTemplate messagingTemplate) {
+                           EventOutbox eventOutbox,
+                           GroupMentionIndex mentionIndex,
+                           TypingService typingService,
+                           ChatUnreadCounter unreadCounter,
+                           ChatArchiveRepository chatArchiveRepository,
+                           ChatArchiver chatArchiver) {
         this.chatMessageRepository = chatMessageRepository;
+        this.chatSearchRepository = chatSearchRepository;
         this.userRepository = userRepository;
         this.workGroupRepository = workGroupRepository;
         this.membershipRepository = membershipRepository;
         this.fileMetadataRepository = fileMetadataRepository;
         this.notificationService = notificationService;
-        this.messagingTemplate = messagingTemplate;
+        this.eventOutbox = eventOutbox;
+        this.mentionIndex = mentionIndex;
+        this.typingService = typingService;
+        this.unreadCounter = unreadCounter;
+        this.chatArchiveRepository = chatArchiveRepository;
+        this.chatArchiver = chatArchiver;
     }
 
     @Override
     @Transactional
-    public ChatMessage sendMessage(ChatMessageRequest request, User sender) {
+    public ChatMessageDto sendMessage(ChatMessageRequest request, User sender) {
         WorkGroup group = workGroupRepository.findById(request.getGroupId())
                 .orElseThrow(() -> new RuntimeException("Group not found"));
 
@@ -131,12 +176,16 @@ public class ChatServiceImpl implements ChatService {
             notifyReply(sender, parentForReply, group);
         }
 
-        messagingTemplate.convertAndSend(
+        typingService.stop(group.getId(), sender.getId());
+        unreadCounter.recordMessage(group.getId(), sender.getId(), savedMessage.getTimestamp());
+
+        ChatMessageDto dto = ChatMessageDto.from(savedMessage);
+        eventOutbox.publish(
                 "/topic/group." + group.getId() + ".chat",
-                savedMessage
+                dto
         );
 
-        return savedMessage;
+        return dto;
     }
 
     private void notifyReply(User sender, ChatMessage parent, WorkGroup group) {
@@ -151,33 +200,140 @@ public class ChatServiceImpl implements ChatService {
     }
 
     private void notifyMentions(String text, User sender, WorkGroup group) {
+        if (text.indexOf('@') < 0) {
+            return;
+        }
         Matcher m = MENTION_PATTERN.matcher(text);
         Set<String> seen = new HashSet<>();
-        List<Membership> members = membershipRepository.findByGroupIdWithUsers(group.getId());
-        Map<String, User> userByLowerName = new HashMap<>();
-        for (Membership mem : members) {
-            User u = mem.getUser();
-            userByLowerName.put(u.getUsername().toLowerCase(), u);
-        }
+        Set<UUID> targets = new LinkedHashSet<>();
         while (m.find()) {
-            String raw = m.group(1);
-            String key = raw.toLowerCase();
-            if (seen.contains(key)) {
+            String key = m.group(1).toLowerCase();
+            if (!seen.add(key)) {
                 continue;
             }
-            seen.add(key);
-            User target = userByLowerName.get(key);
-            if (target == null || target.getId().equals(sender.getId())) {
-                continue;
+            UUID target = mentionIndex.resolve(group.getId(), key);
+            if (target != null && !target.equals(sender.getId())) {
+                targets.add(target);
             }
+        }
+        if (!targets.isEmpty()) {
             String msg = sender.getUsername() + " упомянул вас в чате группы «" + group.getName() + "»";
-            notificationService.createNotification(NotificationType.CHAT_MENTION, msg, target, group.getId());
+            notificationService.createNotifications(NotificationType.CHAT_MENTION, msg, targets, group.getId());
         }
     }
 
     @Override
-    public List<ChatMessage> getGroupMessages(UUID groupId) {
-        return chatMessageRepository.findByGroupIdOrderByTimestampAsc(groupId);
+    public List<ChatMessageDto> getGroupMessages(UUID groupId) {
+        return chatMessageRepository.findDtosByGroupId(groupId);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public ChatMessagePage getGroupMessagesPage(UUID groupId, String before, String after, UUID around,
+                                                int limit, User requester) {
+        if (!membershipRepository.isUserMemberOfGroup(requester.getId(), groupId)) {
+            throw new RuntimeException("You are not a member of this group");
+        }
+        int size = limit <= 0 ? DEFAULT_PAGE_SIZE : Math.min(limit, MAX_PAGE_SIZE);
+
+        if (around != null) {
+            ChatMessageDto anchor = findMessageDto(around);
+            if (!groupId.equals(anchor.getGroupId())) {
+                throw new RuntimeException("Сообщение не из этой группы");
+            }
+            int half = Math.max(1, size / 2);
+            ChatCursor anchorCursor = new ChatCursor(anchor.getTimestamp(), anchor.getId());
+            List<ChatMessageDto> older = olderThan(groupId, anchorCursor, half + 1);
+            List<ChatMessageDto> newer = newerThan(groupId, anchorCursor, half + 1);
+            List<ChatMessageDto> out = new ArrayList<>(head(older, half));
+            Collections.reverse(out);
+            out.add(anchor);
+            out.addAll(head(newer, half));
+            return toPage(out, older.size() > half, newer.size() > half, null);
+        }
+
+        if (after != null && !after.isBlank()) {
+            ChatCursor cursor = ChatCursor.decode(after);
+            List<ChatMessageDto> rows = newerThan(groupId, cursor, size + 1);
+            return toPage(new ArrayList<>(head(rows, size)), true, rows.size() > size, cursor);
+        }
+
+        ChatCursor cursor = before != null && !before.isBlank() ? ChatCursor.decode(before) : null;
+        List<ChatMessageDto> rows = olderThan(groupId, cursor, size + 1);
+        List<ChatMessageDto> out = new ArrayList<>(head(rows, size));
+        Collections.reverse(out);
+        return toPage(out, rows.size() > size, before != null && !before.isBlank(), null);
+    }
+
+    private List<ChatMessageDto> olderThan(UUID groupId, ChatCursor cursor, int n) {
+        List<ChatMessageDto> hot = cursor == null
+                ? chatMessageRepository.findLatestPage(groupId, PageRequest.of(0, n))
+                : chatMessageRepository.findPageBefore(groupId, cursor.getTimestamp(), cursor.getId(), PageRequest.of(0, n));
+        if (!archiveMayHoldOlder(groupId, hot, n)) {
+            return hot;
+        }
+        List<ChatMessageDto> archived = cursor == null
+                ? chatArchiveRepository.findLatestPage(groupId, n)
+                : chatArchiveRepository.findPageBefore(groupId, cursor, n);
+        return merge(hot, archived, n, HISTORY_ORDER.reversed());
+    }
+
+    private List<ChatMessageDto> newerThan(UUID groupId, ChatCursor cursor, int n) {
+        List<ChatMessageDto> hot = chatMessageRepository.findPageAfter(
+                groupId, cursor.getTimestamp(), cursor.getId(), PageRequest.of(0, n));
+        if (!chatArchiver.isEnabled() || !cursor.getTimestamp().isBefore(chatArchiver.horizon())) {
+            return hot;
+        }
+        return merge(hot, chatArchiveRepository.findPageAfter(groupId, cursor, n), n, HISTORY_ORDER);
+    }
+
+    private boolean archiveMayHoldOlder(UUID groupId, List<ChatMessageDto> hot, int n) {
+        if (!chatArchiver.isEnabled()) {
+            return false;
+        }
+        LocalDateTime horizon = chatArchiver.horizon();
+        if (hot.size() >= n) {
+            return hot.get(n - 1).getTimestamp().isBefore(horizon);
+        }
+        LocalDateTime created = groupCreatedAt.computeIfAbsent(groupId,
+                id -> workGroupRepository.findCreationDateById(id).orElse(LocalDateTime.MAX));
+        return created.isBefore(horizon);
+    }
+
+    private static List<ChatMessageDto> merge(List<ChatMessageDto> hot, List<ChatMessageDto> archived, int n,
+                                              Comparator<ChatMessageDto> order) {
+        if (archived.isEmpty()) {
+            return hot;
+        }
+        Map<UUID, ChatMessageDto> byId = new LinkedHashMap<>();
+        hot.forEach(m -> byId.put(m.getId(), m));
+        archived.forEach(m -> byId.putIfAbsent(m.getId(), m));
+        List<ChatMessageDto> out = new ArrayList<>(byId.values());
+        out.sort(order);
+        return head(out, n);
+    }
+
+    private ChatMessageDto findMessageDto(UUID messageId) {
+        return chatMessageRepository.findDtoById(messageId)
+                .or(() -> chatArchiveRepository.findDtoById(messageId))
+                .orElseThrow(() -> new RuntimeException("Сообщение не найдено"));
+    }
+
+    private static List<ChatMessageDto> head(List<ChatMessageDto> rows, int n) {
+        return rows.size() > n ? rows.subList(0, n) : rows;
+    }
+
+    private static ChatMessagePage toPage(List<ChatMessageDto> ascending, boolean hasOlder, boolean hasNewer,
+                                          ChatCursor emptyCursor) {
+        String older = null;
+        String newer = emptyCursor != null ? emptyCursor.encode() : null;
+        if (!ascending.isEmpty()) {
+            ChatMessageDto first = ascending.get(0);
+            ChatMessageDto last = ascending.get(ascending.size() - 1);
+            older = new ChatCursor(first.getTimestamp(), first.getId()).encode();
+            newer = new ChatCursor(last.getTimestamp(), last.getId()).encode();
+        }
+        return new ChatMessagePage(ascending, older, newer, hasOlder, hasNewer);
     }
 
     @Override
@@ -194,11 +350,11 @@ public class ChatServiceImpl implements ChatService {
             throw new RuntimeException("Message not found or access denied");
         }
 
-        ChatMessage updatedMessage = chatMessageRepository.findById(messageId)
+        ChatMessageDto updatedMessage = chatMessageRepository.findDtoById(messageId)
                 .orElseThrow(() -> new RuntimeException("Message not found"));
 
-        messagingTemplate.convertAndSend(
-                "/topic/group." + updatedMessage.getGroup().getId() + ".chat.update",
+        eventOutbox.publish(
+                "/topic/group." + updatedMessage.getGroupId() + ".chat.update",
                 updatedMessage
         );
     }
@@ -217,26 +373,58 @@ public class ChatServiceImpl implements ChatService {
 
         Map<String, String> deletePayload = new HashMap<>();
         deletePayload.put("messageId", messageId.toString());
-        messagingTemplate.convertAndSend(
+        eventOutbox.publish(
                 "/topic/group." + groupId + ".chat.delete",
                 deletePayload
         );
     }
 
     @Override
-    public ChatMessage getMessage(UUID messageId) {
-        return chatMessageRepository.findById(messageId)
+    public ChatMessageDto getMessage(UUID messageId) {
+        return chatMessageRepository.findDtoById(messageId)
+                .or(() -> chatArchiveRepository.findDtoById(messageId))
                 .orElseThrow(() -> new RuntimeException("Message not found"));
     }
 
     @Override
-    public List<ChatMessage> searchMessages(UUID groupId, String searchTerm) {
-        return chatMessageRepository.searchInGroupChat(groupId, searchTerm);
+    @Transactional(readOnly = true)
+    public ChatSearchPage searchMessages(UUID groupId, String query, UUID senderId, LocalDateTime from,
+                                         LocalDateTime to, String kind, String cursor, int limit, User requester) {
+        if (!membershipRepository.isUserMemberOfGroup(requester.getId(), groupId)) {
+            throw new RuntimeException("You are not a member of this group");
+        }
+        if (query == null || query.isBlank()) {
+            throw new RuntimeException("Пустой поисковый запрос");
+        }
+        int size = limit <= 0 ? DEFAULT_PAGE_SIZE : Math.min(limit, MAX_PAGE_SIZE);
+        ChatCursor after = cursor != null && !cursor.isBlank() ? ChatCursor.decode(cursor) : null;
+
+        List<ChatSearchRepository.Hit> hits = chatSearchRepository.search(
+                groupId, query.trim(), senderId, from, to, kind, after, size + 1);
+        boolean hasMore = hits.size() > size;
+        List<ChatSearchRepository.Hit> page = hasMore ? hits.subList(0, size) : hits;
+        if (page.isEmpty()) {
+            return new ChatSearchPage(List.of(), null, false);
+        }
+
+        Map<UUID, ChatMessageDto> byId = new HashMap<>();
+        for (ChatMessageDto dto : chatMessageRepository.findDtosByIds(page.stream().map(ChatSearchRepository.Hit::getId).toList())) {
+            byId.put(dto.getId(), dto);
+        }
+        List<ChatSearchHit> out = new ArrayList<>(page.size());
+        for (ChatSearchRepository.Hit hit : page) {
+            ChatMessageDto dto = byId.get(hit.getId());
+            if (dto != null) {
+                out.add(new ChatSearchHit(dto, hit.getHighlight()));
+            }
+        }
+        ChatSearchRepository.Hit last = page.get(page.size() - 1);
+        return new ChatSearchPage(out, new ChatCursor(last.getTimestamp(), last.getId()).encode(), hasMore);
     }
 
     @Override
     @Transactional
-    public ChatMessage setMessagePinned(UUID messageId, boolean pinned, User requester) {
+    public ChatMessageDto setMessagePinned(UUID messageId, boolean pinned, User requester) {
         ChatMessage msg = chatMessageRepository.findById(messageId)
                 .orElseThrow(() -> new RuntimeException("Сообщение не найдено"));
         UUID gid = msg.getGroup().getId();
@@ -253,20 +441,69 @@ public class ChatServiceImpl implements ChatService {
                     other.setPinned(false);
                     other.setPinnedAt(null);
                     ChatMessage updated = chatMessageRepository.save(other);
-                    messagingTemplate.convertAndSend(
+                    eventOutbox.publish(
                             "/topic/group." + gid + ".chat.pin",
-                            updated
+                            ChatMessageDto.from(updated)
                     );
                 }
             }
         }
         msg.setPinned(pinned);
         msg.setPinnedAt(pinned ? LocalDateTime.now() : null);
-        ChatMessage saved = chatMessageRepository.save(msg);
-        messagingTemplate.convertAndSend(
+        ChatMessageDto saved = ChatMessageDto.from(chatMessageRepository.save(msg));
+        eventOutbox.publish(
                 "/topic/group." + gid + ".chat.pin",
                 saved
         );
         return saved;
     }
+
+    @Override
+    @Transactional
+    public ChatReadReceipt markRead(UUID groupId, UUID messageId, User requester) {
+        if (!membershipRepository.isUserMemberOfGroup(requester.getId(), groupId)) {
+            throw new RuntimeException("You are not a member of this group");
+        }
+        ChatMessageDto target;
+        if (messageId != null) {
+            target = findMessageDto(messageId);
+            if (!groupId.equals(target.getGroupId())) {
+                throw new RuntimeException("Сообщение не из этой группы");
+            }
+        } else {
+            List<ChatMessageDto> latest = chatMessageRepository.findLatestPage(groupId, PageRequest.of(0, 1));
+            if (latest.isEmpty()) {
+                return new ChatReadReceipt(requester.getId(), null, null);
+            }
+            target = latest.get(0);
+        }
+
+        unreadCounter.flush();
+        int updated = membershipRepository.advanceReadCursor(
+                requester.getId(), groupId, target.getId(), target.getTimestamp());
+        ChatReadReceipt receipt = new ChatReadReceipt(requester.getId(), target.getId(), target.getTimestamp());
+        if (updated > 0) {
+            eventOutbox.publish("/topic/group." + groupId + ".read", receipt);
+        }
+        return receipt;
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<ChatReadReceipt> getReadReceipts(UUID groupId, User requester) {
+        if (!membershipRepository.isUserMemberOfGroup(requester.getId(), groupId)) {
+            throw new RuntimeException("You are not a member of this group");
+        }
+        return membershipRepository.findReadReceiptsByGroupId(groupId);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public Map<UUID, Integer> getUnreadCounts(User requester) {
+        Map<UUID, Integer> out = new HashMap<>();
+        for (Object[] row : membershipRepository.findUnreadCountsByUserId(requester.getId())) {
+            out.put((UUID) row[0], ((Number) row[1]).intValue());
+        }
+        return out;
+    }
 }
@@ -23,15 +23,17 @@ import com.example.thesis.repository.WorkGroupRepository;
 import com.example.thesis.service.FileService;
 import com.example.thesis.service.FileTextExtractionService;
 import com.example.thesis.service.NotificationService;
+import com.example.thesis.service.RevisionTextStore;
+import com.example.thesis.storage.BlobAccessTracker;
 import com.example.thesis.storage.HybridStorageDecision;
 import com.example.thesis.storage.LocalFileContentStorage;
 import com.example.thesis.storage.S3CompatibleFileContentStorage;
+import com.example.thesis.storage.ShardedKeyLayout;
 import com.github.difflib.DiffUtils;
 import com.github.difflib.UnifiedDiffUtils;
 import com.github.difflib.patch.Patch;
 import org.hibernate.Hibernate;
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import org.springframework.util.StringUtils;
@@ -41,10 +43,8 @@ import java.io.ByteArrayInputStream;
 import java.io.IOException;
 import java.nio.file.Files;
 import java.nio.file.Path;
-import java.nio.file.Paths;
 import java.nio.file.StandardCopyOption;
 import java.time.LocalDateTime;
-import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
 import java.util.UUID;
@@ -55,9 +55,6 @@ public class FileServiceImpl implements FileService {
 
     private static final long MAX_INDEX_BYTES = 25L * 1024 * 1024;
 
-    @Value("${file.upload.dir:./uploads}")
-    private String uploadDir;
-
     private final FileMetadataRepository fileMetadataRepository;
     private final FileHistoryRepository fileHistoryRepository;
     private final WorkGroupRepository workGroupRepository;
@@ -69,6 +66,8 @@ public class FileServiceImpl implements FileService {
     private final FileTextExtractionService textExtractionService;
     private final FileContentRevisionRepository fileContentRevisionRepository;
     private final FileNoteRepository fileNoteRepository;
+    private final RevisionTextStore revisionTextStore;
+    private final BlobAccessTracker accessTracker;
 
     public FileServiceImpl(FileMetadataRepository fileMetadataRepository,
                            FileHistoryRepository fileHistoryRepository,
@@ -80,7 +79,9 @@ public class FileServiceImpl implements FileService {
                            @Autowired(required = false) S3CompatibleFileContentStorage objectStorage,
                            FileTextExtractionService textExtractionService,
                            FileContentRevisionRepository fileContentRevisionRepository,
-                           FileNoteRepository fileNoteRepository) {
+                           FileNoteRepository fileNoteRepository,
+                           RevisionTextStore revisionTextStore,
+                           BlobAccessTracker accessTracker) {
         this.fileMetadataRepository = fileMetadataRepository;
         this.fileHistoryRepository = fileHistoryRepository;
         this.workGroupRepository = workGroupRepository;
@@ -92,6 +93,8 @@ public class FileServiceImpl implements FileService {
         this.textExtractionService = textExtractionService;
         this.fileContentRevisionRepository = fileContentRevisionRepository;
         this.fileNoteRepository = fileNoteRepository;
+        this.revisionTextStore = revisionTextStore;
+        this.accessTracker = accessTracker;
     }
 
     private boolean useObjectStoreForNewUploads() {
@@ -140,7 +143,7 @@ public class FileServiceImpl implements FileService {
             String originalFilename = StringUtils.cleanPath(file.getOriginalFilename());
             String fileExtension = getFileExtension(originalFilename);
             String storedFilename = UUID.randomUUID().toString() + (fileExtension.isEmpty() ? "" : "." + fileExtension);
-            String relativeKey = groupId + "/" + storedFilename;
+            String relativeKey = ShardedKeyLayout.flatKey(groupId, storedFilename);
 
             FileMetadata fileMetadata = new FileMetadata();
             fileMetadata.setOriginalName(originalFilename);
@@ -161,15 +164,18 @@ public class FileServiceImpl implements FileService {
                 objectStorage.put(relativeKey, file.getInputStream(), file.getSize(),
                         file.getContentType() != null ? file.getContentType() : "application/octet-stream");
             } else {
+                String localKey = storageProperties.isLocalSharded()
+                        ? ShardedKeyLayout.shardedKey(groupId, storedFilename)
+                        : relativeKey;
                 localStorage.put(
-                        relativeKey,
+                        localKey,
                         file.getInputStream(),
                         file.getSize(),
                         file.getContentType() != null ? file.getContentType() : "application/octet-stream"
                 );
                 fileMetadata.setStorageBackend(StorageBackend.LOCAL);
                 fileMetadata.setObjectKey(null);
-                fileMetadata.setFilePath(Paths.get(uploadDir).resolve(relativeKey).toString());
+                fileMetadata.setFilePath(localStorage.pathForKey(localKey));
             }
 
             FileMetadata savedFile = fileMetadataRepository.save(fileMetadata);
@@ -219,7 +225,7 @@ public class FileServiceImpl implements FileService {
             }
             return objectStorage.get(fm.getObjectKey());
         }
-        return Files.readAllBytes(Paths.get(fm.getFilePath()));
+        return Files.readAllBytes(localStorage.resolveExisting(fm.getFilePath()));
     }
 
     private void indexFileContent(FileMetadata fm, byte[] bytes) {
@@ -240,7 +246,9 @@ public class FileServiceImpl implements FileService {
         assertMember(fileMetadata, downloader);
 
         try {
-            return readFileBytesInternal(fileMetadata);
+            byte[] bytes = readFileBytesInternal(fileMetadata);
+            accessTracker.recordAccess(fileMetadata);
+            return bytes;
         } catch (IOException e) {
             throw new RuntimeException("Failed to download file: " + e.getMessage(), e);
         }
@@ -282,6 +290,7 @@ public class FileServiceImpl implements FileService {
         }
 
         fileMetadata.setDeleted(true);
+        fileMetadata.setLastModified(LocalDateTime.now());
         fileMetadataRepository.save(fileMetadata);
 
         WorkGroup g = fileMetadata.getParentGroup();
@@ -425,9 +434,10 @@ public class FileServiceImpl implements FileService {
             rev.setSizeBytes(oldBytes.length);
             rev.setMimeType(existingFile.getMimeType());
             rev.setOriginalNameSnapshot(existingFile.getOriginalName());
-            rev.setTextSnapshot(snapText.isEmpty() ? null : snapText);
+            rev.setHasTextSnapshot(!snapText.isEmpty());
             rev.setCreatedBy(requester);
-            fileContentRevisionRepository.save(rev);
+            FileContentRevision savedRev = fileContentRevisionRepository.save(rev);
+            revisionTextStore.save(savedRev, snapText);
 
             String ct = file.getContentType() != null ? file.getContentType() : "application/octet-stream";
             if (existingFile.getStorageBackend() == StorageBackend.OBJECT_STORE) {
@@ -436,7 +446,7 @@ public class FileServiceImpl implements FileService {
                 }
                 objectStorage.put(existingFile.getObjectKey(), new ByteArrayInputStream(newBytes), newBytes.length, ct);
             } else {
-                Path oldFilePath = Paths.get(existingFile.getFilePath());
+                Path oldFilePath = localStorage.resolveExisting(existingFile.getFilePath());
                 Files.copy(new ByteArrayInputStream(newBytes), oldFilePath, StandardCopyOption.REPLACE_EXISTING);
             }
 
@@ -501,23 +511,7 @@ public class FileServiceImpl implements FileService {
     public List<FileRevisionDto> listFileRevisions(UUID fileId, User user) {
         FileMetadata fm = getFileMetadata(fileId);
         assertMember(fm, user);
-        List<FileContentRevision> revs = fileContentRevisionRepository.findByFile_IdOrderByFileVersionSnapshotDesc(fileId);
-        List<FileRevisionDto> out = new ArrayList<>();
-        for (FileContentRevision r : revs) {
-            Hibernate.initialize(r.getCreatedBy());
-            FileRevisionDto d = new FileRevisionDto();
-            d.setId(r.getId());
-            d.setFileVersionSnapshot(r.getFileVersionSnapshot());
-            d.setSizeBytes(r.getSizeBytes());
-            d.setMimeType(r.getMimeType());
-            d.setOriginalNameSnapshot(r.getOriginalNameSnapshot());
-            d.setHasTextSnapshot(r.getTextSnapshot() != null && !r.getTextSnapshot().isEmpty());
-            d.setCreatedAt(r.getCreatedAt());
-            d.setCreatedById(r.getCreatedBy().getId());
-            d.setCreatedByUsername(r.getCreatedBy().getUsername());
-            out.add(d);
-        }
-        return out;
+        return fileContentRevisionRepository.findRevisionSummaries(fileId);
     }
 
     @Override
@@ -542,8 +536,8 @@ public class FileServiceImpl implements FileService {
         FileContentRevision right = fileContentRevisionRepository.findByIdAndFile_Id(rightRevisionId, fileId)
                 .orElseThrow(() -> new RuntimeException("Right revision not found"));
 
-        String a = left.getTextSnapshot();
-        String b = right.getTextSnapshot();
+        String a = left.isHasTextSnapshot() ? revisionTextStore.load(left.getId()) : null;
+        String b = right.isHasTextSnapshot() ? revisionTextStore.load(right.getId()) : null;
         if (a == null || b == null || a.isEmpty() || b.isEmpty()) {
             return "Для сравнения нужны текстовые снимки обеих версий (txt, код, PDF с извлекаемым текстом).";
         }
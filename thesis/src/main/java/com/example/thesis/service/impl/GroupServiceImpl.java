@@ -1,13 +1,18 @@
 package com.example.thesis.service.impl;
 
+import com.example.thesis.service.GroupMentionIndex;
 import com.example.thesis.service.GroupService;
 import com.example.thesis.service.NotificationService;
+import com.example.thesis.service.PresenceSessionTracker;
+import com.example.thesis.service.SseEventHub;
 import com.example.thesis.models.FileMetadata;
 import com.example.thesis.models.WorkGroup;
 import com.example.thesis.models.User;
 import com.example.thesis.models.Membership;
 import com.example.thesis.models.enums.MembershipRole;
 import com.example.thesis.models.enums.NotificationType;
+import com.example.thesis.repository.ChatArchiveRepository;
+import com.example.thesis.repository.NotificationCounterRepository;
 import com.example.thesis.repository.WorkGroupRepository;
 import com.example.thesis.repository.MembershipRepository;
 import com.example.thesis.repository.UserRepository;
@@ -15,6 +20,7 @@ import com.example.thesis.repository.FileMetadataRepository;
 import com.example.thesis.dto.GroupCreateRequest;
 import com.example.thesis.dto.GroupMembershipPrefsRequest;
 import com.example.thesis.dto.GroupUpdateRequest;
+import com.example.thesis.dto.GroupWithStats;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -32,17 +38,32 @@ public class GroupServiceImpl implements GroupService {
     private final UserRepository userRepository;
     private final NotificationService notificationService;
     private final FileMetadataRepository fileMetadataRepository;
+    private final GroupMentionIndex mentionIndex;
+    private final ChatArchiveRepository chatArchiveRepository;
+    private final NotificationCounterRepository notificationCounterRepository;
+    private final PresenceSessionTracker presenceSessionTracker;
+    private final SseEventHub sseEventHub;
 
     public GroupServiceImpl(WorkGroupRepository workGroupRepository,
                             MembershipRepository membershipRepository,
                             UserRepository userRepository,
                             NotificationService notificationService,
-                            FileMetadataRepository fileMetadataRepository) {
+                            FileMetadataRepository fileMetadataRepository,
+                            GroupMentionIndex mentionIndex,
+                            ChatArchiveRepository chatArchiveRepository,
+                            NotificationCounterRepository notificationCounterRepository,
+                            PresenceSessionTracker presenceSessionTracker,
+                            SseEventHub sseEventHub) {
         this.workGroupRepository = workGroupRepository;
         this.membershipRepository = membershipRepository;
         this.userRepository = userRepository;
         this.notificationService = notificationService;
         this.fileMetadataRepository = fileMetadataRepository;
+        this.mentionIndex = mentionIndex;
+        this.chatArchiveRepository = chatArchiveRepository;
+        this.notificationCounterRepository = notificationCounterRepository;
+        this.presenceSessionTracker = presenceSessionTracker;
+        this.sseEventHub = sseEventHub;
     }
 
     @Override
@@ -68,6 +89,8 @@ public class GroupServiceImpl implements GroupService {
         
         Membership membership = new Membership(freshCreator, savedGroup, MembershipRole.CREATOR);
         membershipRepository.save(membership);
+        mentionIndex.invalidate(savedGroup.getId());
+        sseEventHub.invalidate(savedGroup.getId());
         System.out.println("[GROUP] Membership created for creator");
 
         return savedGroup;
@@ -119,7 +142,12 @@ public class GroupServiceImpl implements GroupService {
             throw new RuntimeException("Only the creator can delete the group");
         }
 
+        notificationCounterRepository.releaseGroup(groupId);
         workGroupRepository.delete(group);
+        chatArchiveRepository.deleteByGroupId(groupId);
+        mentionIndex.invalidate(groupId);
+        presenceSessionTracker.invalidate(groupId);
+        sseEventHub.invalidate(groupId);
     }
 
     @Override
@@ -139,6 +167,11 @@ public class GroupServiceImpl implements GroupService {
         return workGroupRepository.findGroupsByUserWithMembership(userId);
     }
 
+    @Override
+    public List<GroupWithStats> getUserGroupsWithStats(UUID userId) {
+        return workGroupRepository.findGroupsWithStatsByUserId(userId);
+    }
+
     @Override
     public List<WorkGroup> getUserCreatedGroups(UUID userId) {
         return workGroupRepository.findCreatedGroupsByUserId(userId);
@@ -174,6 +207,9 @@ public class GroupServiceImpl implements GroupService {
         
         Membership membership = new Membership(user, group, MembershipRole.MEMBER);
         membershipRepository.save(membership);
+        mentionIndex.invalidate(group.getId());
+        presenceSessionTracker.invalidate(group.getId());
+        sseEventHub.invalidate(group.getId());
 
         notificationService.createGroupNotification(
                 NotificationType.USER_JOINED,
@@ -202,6 +238,9 @@ public class GroupServiceImpl implements GroupService {
 
         Membership membership = new Membership(userToAdd, group, MembershipRole.MEMBER);
         membershipRepository.save(membership);
+        mentionIndex.invalidate(groupId);
+        presenceSessionTracker.invalidate(groupId);
+        sseEventHub.invalidate(groupId);
 
         notificationService.createNotification(
                 NotificationType.USER_JOINED,
@@ -262,6 +301,9 @@ public class GroupServiceImpl implements GroupService {
 
         String removedName = targetMembership.getUser().getUsername();
         membershipRepository.deleteByUserIdAndGroupId(userId, groupId);
+        mentionIndex.invalidate(groupId);
+        presenceSessionTracker.invalidate(groupId);
+        sseEventHub.invalidate(groupId);
 
         notificationService.createGroupNotification(
                 NotificationType.USER_REMOVED,
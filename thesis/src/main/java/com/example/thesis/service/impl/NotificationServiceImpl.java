@@ -1,42 +1,57 @@
 package com.example.thesis.service.impl;
 
+import com.example.thesis.dto.ChatCursor;
+import com.example.thesis.dto.NotificationDto;
+import com.example.thesis.dto.NotificationPage;
+import com.example.thesis.service.EventOutbox;
+import com.example.thesis.service.NotificationCoalescer;
 import com.example.thesis.service.NotificationService;
 import com.example.thesis.models.Notification;
 import com.example.thesis.models.User;
 import com.example.thesis.models.WorkGroup;
 import com.example.thesis.models.enums.NotificationType;
+import com.example.thesis.repository.NotificationCounterRepository;
+import com.example.thesis.repository.NotificationListRepository;
 import com.example.thesis.repository.NotificationRepository;
 import com.example.thesis.repository.UserRepository;
 import com.example.thesis.repository.WorkGroupRepository;
-import com.example.thesis.repository.MembershipRepository;
-import com.example.thesis.models.Membership;
-import org.springframework.messaging.simp.SimpMessagingTemplate;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
 import java.util.List;
 import java.util.UUID;
 
 @Service
 public class NotificationServiceImpl implements NotificationService {
 
+    private static final int DEFAULT_PAGE_SIZE = 20;
+    private static final int MAX_PAGE_SIZE = 100;
+
     private final NotificationRepository notificationRepository;
     private final UserRepository userRepository;
     private final WorkGroupRepository workGroupRepository;
-    private final MembershipRepository membershipRepository;
-    private final SimpMessagingTemplate messagingTemplate;
+    private final EventOutbox eventOutbox;
+    private final NotificationCoalescer notificationCoalescer;
+    private final NotificationCounterRepository counterRepository;
+    private final NotificationListRepository listRepository;
 
     public NotificationServiceImpl(NotificationRepository notificationRepository,
                                    UserRepository userRepository,
                                    WorkGroupRepository workGroupRepository,
-                                   MembershipRepository membershipRepository,
-                                   SimpMessagingTemplate messagingTemplate) {
+                                   EventOutbox eventOutbox,
+                                   NotificationCoalescer notificationCoalescer,
+                                   NotificationCounterRepository counterRepository,
+                                   NotificationListRepository listRepository) {
         this.notificationRepository = notificationRepository;
         this.userRepository = userRepository;
         this.workGroupRepository = workGroupRepository;
-        this.membershipRepository = membershipRepository;
-        this.messagingTemplate = messagingTemplate;
+        this.eventOutbox = eventOutbox;
+        this.notificationCoalescer = notificationCoalescer;
+        this.counterRepository = counterRepository;
+        this.listRepository = listRepository;
     }
 
     @Override
@@ -54,10 +69,11 @@ public class NotificationServiceImpl implements NotificationService {
         notification.setCreatedDate(LocalDateTime.now());
         notification.setRead(false);
 
-        Notification savedNotification = notificationRepository.save(notification);
+        Notification savedNotification = notificationRepository.saveAndFlush(notification);
+        counterRepository.increment(user.getId());
 
         
-        messagingTemplate.convertAndSendToUser(
+        eventOutbox.publishToUser(
                 user.getId().toString(),
                 "/queue/notifications",
                 savedNotification
@@ -68,41 +84,43 @@ public class NotificationServiceImpl implements NotificationService {
 
     @Override
     @Transactional
-    public void createGroupNotification(NotificationType type, String message,
-                                        UUID groupId, UUID excludeUserId) {
+    public List<Notification> createNotifications(NotificationType type, String message,
+                                                  Collection<UUID> userIds, UUID groupId) {
+        if (userIds.isEmpty()) {
+            return List.of();
+        }
         WorkGroup group = workGroupRepository.findById(groupId)
                 .orElseThrow(() -> new RuntimeException("Group not found"));
 
-        
-        List<Membership> memberships = membershipRepository.findByGroupIdWithUsers(groupId);
-
-        for (Membership membership : memberships) {
-            User user = membership.getUser();
-            UUID userId = user.getId();
-            if (excludeUserId != null && excludeUserId.equals(userId)) {
-                continue;
-            }
-            if (membership.isNotificationsMuted()) {
-                continue;
-            }
-
+        LocalDateTime now = LocalDateTime.now();
+        List<Notification> batch = new ArrayList<>(userIds.size());
+        for (User user : userRepository.findAllById(userIds)) {
             Notification notification = new Notification();
             notification.setType(type);
             notification.setMessage(message);
             notification.setUser(user);
             notification.setGroup(group);
-            notification.setCreatedDate(LocalDateTime.now());
+            notification.setCreatedDate(now);
             notification.setRead(false);
+            batch.add(notification);
+        }
 
-            Notification savedNotification = notificationRepository.save(notification);
-
-            
-            messagingTemplate.convertAndSendToUser(
-                    userId.toString(),
+        List<Notification> saved = notificationRepository.saveAllAndFlush(batch);
+        counterRepository.incrementAll(saved.stream().map(n -> n.getUser().getId()).toList());
+        for (Notification notification : saved) {
+            eventOutbox.publishToUser(
+                    notification.getUser().getId().toString(),
                     "/queue/notifications",
-                    savedNotification
+                    notification
             );
         }
+        return saved;
+    }
+
+    @Override
+    public void createGroupNotification(NotificationType type, String message,
+                                        UUID groupId, UUID excludeUserId) {
+        notificationCoalescer.submit(type, message, groupId, excludeUserId);
     }
 
     @Override
@@ -115,11 +133,29 @@ public class NotificationServiceImpl implements NotificationService {
         return notificationRepository.findUnreadByUserId(userId);
     }
 
+    @Override
+    public NotificationPage getNotificationPage(UUID userId, NotificationType type, UUID groupId, Boolean read,
+                                                String cursor, int limit) {
+        int size = limit <= 0 ? DEFAULT_PAGE_SIZE : Math.min(limit, MAX_PAGE_SIZE);
+        ChatCursor after = cursor != null && !cursor.isBlank() ? ChatCursor.decode(cursor) : null;
+        List<NotificationDto> rows = listRepository.findPage(userId, type, groupId, read, after, size + 1);
+        boolean hasMore = rows.size() > size;
+        List<NotificationDto> page = hasMore ? rows.subList(0, size) : rows;
+        String next = null;
+        if (hasMore) {
+            NotificationDto last = page.get(page.size() - 1);
+            next = new ChatCursor(last.getCreatedDate(), last.getId()).encode();
+        }
+        return new NotificationPage(page, next, hasMore);
+    }
+
     @Override
     @Transactional
     public void markAsRead(UUID notificationId, UUID userId) {
-        int updated = notificationRepository.markAsRead(notificationId, userId);
-        if (updated == 0) {
+        int updated = notificationRepository.markUnreadAsRead(notificationId, userId);
+        if (updated > 0) {
+            counterRepository.decrement(userId, updated);
+        } else if (!notificationRepository.existsByIdAndUserId(notificationId, userId)) {
             throw new RuntimeException("Notification not found or access denied");
         }
     }
@@ -127,7 +163,8 @@ public class NotificationServiceImpl implements NotificationService {
     @Override
     @Transactional
     public void markAllAsRead(UUID userId) {
-        notificationRepository.markAllAsRead(userId);
+        int updated = notificationRepository.markAllAsRead(userId);
+        counterRepository.decrement(userId, updated);
     }
 
     @Override
@@ -141,17 +178,20 @@ public class NotificationServiceImpl implements NotificationService {
         }
 
         notificationRepository.delete(notification);
+        if (!notification.isRead()) {
+            counterRepository.decrement(userId, 1);
+        }
     }
 
     @Override
     @Transactional
     public void deleteAllUserNotifications(UUID userId) {
-        List<Notification> notifications = notificationRepository.findByUserId(userId);
-        notificationRepository.deleteAll(notifications);
+        notificationRepository.deleteAllByUserId(userId);
+        counterRepository.reset(userId);
     }
 
     @Override
     public Long getUnreadCount(UUID userId) {
-        return notificationRepository.countUnreadByUserId(userId);
+        return counterRepository.get(userId);
     }
 }
\ No newline at end of file
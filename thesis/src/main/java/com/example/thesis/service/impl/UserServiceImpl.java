@@ -1,11 +1,14 @@
 package com.example.thesis.service.impl;
 
 import com.example.thesis.models.enums.Role;
+import com.example.thesis.models.enums.StorageBackend;
+import com.example.thesis.service.GroupMentionIndex;
 import com.example.thesis.service.UserService;
 import com.example.thesis.models.User;
 import com.example.thesis.repository.UserRepository;
 import com.example.thesis.repository.MembershipRepository;
 import com.example.thesis.dto.UserUpdateRequest;
+import com.example.thesis.storage.StorageRouter;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
@@ -17,7 +20,6 @@ import java.io.IOException;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
-import java.nio.file.StandardCopyOption;
 import java.util.*;
 
 @Service
@@ -31,12 +33,17 @@ public class UserServiceImpl implements UserService {
     private final UserRepository userRepository;
     private final PasswordEncoder passwordEncoder;
     private final MembershipRepository membershipRepository;
+    private final StorageRouter storageRouter;
+    private final GroupMentionIndex mentionIndex;
 
     public UserServiceImpl(UserRepository userRepository, PasswordEncoder passwordEncoder,
-                           MembershipRepository membershipRepository) {
+                           MembershipRepository membershipRepository, StorageRouter storageRouter,
+                           GroupMentionIndex mentionIndex) {
         this.userRepository = userRepository;
         this.passwordEncoder = passwordEncoder;
         this.membershipRepository = membershipRepository;
+        this.storageRouter = storageRouter;
+        this.mentionIndex = mentionIndex;
     }
 
     @Override
@@ -87,6 +94,8 @@ public class UserServiceImpl implements UserService {
         if (request.getUsername() != null && !request.getUsername().equals(user.getUsername())) {
             if (isUsernameAvailable(request.getUsername())) {
                 user.setUsername(request.getUsername());
+                membershipRepository.findByUserId(user.getId())
+                        .forEach(m -> mentionIndex.invalidate(m.getGroup().getId()));
             } else {
                 throw new RuntimeException("Username is already taken");
             }
@@ -200,17 +209,13 @@ public class UserServiceImpl implements UserService {
             };
         }
 
-        Path dir = Paths.get(uploadDir, "avatars", userId.toString());
         try {
-            Files.createDirectories(dir);
-            String old = user.getAvatarStoredName();
-            if (old != null && !old.isBlank()) {
-                Files.deleteIfExists(dir.resolve(old));
-            }
+            deleteAvatarBlob(user);
             String stored = UUID.randomUUID().toString() + "." + ext;
-            Path target = dir.resolve(stored);
-            Files.copy(file.getInputStream(), target, StandardCopyOption.REPLACE_EXISTING);
+            StorageBackend backend = storageRouter.backendForNewUploads();
+            storageRouter.forBackend(backend).put(avatarKey(userId, stored), file.getInputStream(), file.getSize(), mime);
             user.setAvatarStoredName(stored);
+            user.setAvatarStorageBackend(backend);
             return userRepository.save(user);
         } catch (IOException e) {
             throw new RuntimeException("Не удалось сохранить аватар: " + e.getMessage(), e);
@@ -221,15 +226,13 @@ public class UserServiceImpl implements UserService {
     @Transactional
     public void deleteAvatar(UUID userId) {
         User user = getUserById(userId);
-        String old = user.getAvatarStoredName();
-        if (old != null && !old.isBlank()) {
-            try {
-                Files.deleteIfExists(Paths.get(uploadDir, "avatars", userId.toString(), old));
-            } catch (IOException ignored) {
-                
-            }
+        try {
+            deleteAvatarBlob(user);
+        } catch (IOException ignored) {
+            
         }
         user.setAvatarStoredName(null);
+        user.setAvatarStorageBackend(StorageBackend.LOCAL);
         userRepository.save(user);
     }
 
@@ -240,12 +243,15 @@ public class UserServiceImpl implements UserService {
         if (name == null || name.isBlank()) {
             return null;
         }
-        Path path = Paths.get(uploadDir, "avatars", userId.toString(), name);
-        if (!Files.isRegularFile(path)) {
-            return null;
+        StorageBackend backend = user.getAvatarStorageBackend();
+        if (backend == StorageBackend.LOCAL) {
+            Path path = Paths.get(uploadDir, "avatars", userId.toString(), name);
+            if (!Files.isRegularFile(path)) {
+                return null;
+            }
         }
         try {
-            return Files.readAllBytes(path);
+            return storageRouter.forBackend(backend).get(avatarKey(userId, name));
         } catch (IOException e) {
             throw new RuntimeException("Не удалось прочитать аватар", e);
         }
@@ -258,14 +264,16 @@ public class UserServiceImpl implements UserService {
         if (name == null || name.isBlank()) {
             return "application/octet-stream";
         }
-        Path path = Paths.get(uploadDir, "avatars", userId.toString(), name);
-        try {
-            String probed = Files.probeContentType(path);
-            if (probed != null && !probed.isBlank()) {
-                return probed;
+        if (user.getAvatarStorageBackend() == StorageBackend.LOCAL) {
+            Path path = Paths.get(uploadDir, "avatars", userId.toString(), name);
+            try {
+                String probed = Files.probeContentType(path);
+                if (probed != null && !probed.isBlank()) {
+                    return probed;
+                }
+            } catch (IOException ignored) {
+                
             }
-        } catch (IOException ignored) {
-            
         }
         String ext = getFileExtension(name).toLowerCase(Locale.ROOT);
         return switch (ext) {
@@ -277,6 +285,17 @@ public class UserServiceImpl implements UserService {
         };
     }
 
+    public static String avatarKey(UUID userId, String storedName) {
+        return "avatars/" + userId + "/" + storedName;
+    }
+
+    private void deleteAvatarBlob(User user) throws IOException {
+        String old = user.getAvatarStoredName();
+        if (old != null && !old.isBlank()) {
+            storageRouter.forBackend(user.getAvatarStorageBackend()).delete(avatarKey(user.getId(), old));
+        }
+    }
+
     private static String getFileExtension(String filename) {
         if (filename == null || filename.lastIndexOf('.') == -1) {
             return "";
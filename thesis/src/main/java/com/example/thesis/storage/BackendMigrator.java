@@ -0,0 +1,356 @@
+package com.example.thesis.storage;
+
+import com.example.thesis.config.StorageProperties;
+import com.example.thesis.models.enums.StorageBackend;
+import com.example.thesis.service.impl.UserServiceImpl;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+@Component
+public class BackendMigrator {
+
+    private static final Logger log = LoggerFactory.getLogger(BackendMigrator.class);
+
+    private static final UUID MIN_UUID = new UUID(Long.MIN_VALUE, Long.MIN_VALUE);
+    private static final String OCTET_STREAM = "application/octet-stream";
+    private static final String FILE_COLUMNS =
+            "SELECT id, version, group_id, stored_name, file_path, object_key, mime_type FROM file_metadata ";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final StorageRouter storageRouter;
+    private final StorageProperties properties;
+    private final AtomicBoolean running = new AtomicBoolean(false);
+
+    private long windowStartNanos;
+    private long windowBytes;
+
+    public BackendMigrator(JdbcTemplate jdbcTemplate,
+                           StorageRouter storageRouter,
+                           StorageProperties properties) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.storageRouter = storageRouter;
+        this.properties = properties;
+    }
+
+    @Scheduled(fixedDelayString = "${app.storage.migration-interval-ms:60000}",
+            initialDelayString = "${app.storage.migration-interval-ms:60000}")
+    public void scheduledRun() {
+        if (properties.isMigrationEnabled()) {
+            runPass();
+        }
+    }
+
+    public MigrationReport runPass() {
+        StorageBackend target = properties.isMigrationTargetObject()
+                ? StorageBackend.OBJECT_STORE
+                : StorageBackend.LOCAL;
+        StorageBackend source = target == StorageBackend.LOCAL
+                ? StorageBackend.OBJECT_STORE
+                : StorageBackend.LOCAL;
+        MigrationReport report = new MigrationReport(source, target);
+        if (!storageRouter.isAvailable(StorageBackend.OBJECT_STORE)) {
+            log.warn("[MIGRATION] Объектное хранилище не настроено, миграция {} -> {} невозможна", source, target);
+            return report;
+        }
+        if (!running.compareAndSet(false, true)) {
+            return report;
+        }
+        try {
+            windowStartNanos = System.nanoTime();
+            windowBytes = 0;
+            migrateFiles(source, target, report);
+            migrateRevisions(source, target, report);
+            migrateAvatars(source, target, report);
+            if (report.moved > 0 || report.failed > 0) {
+                log.info("[MIGRATION] {} -> {}: перенесено {} ({} байт), конфликтов {}, ошибок {}",
+                        source, target, report.moved, report.bytes, report.conflicts, report.failed);
+            }
+            return report;
+        } finally {
+            running.set(false);
+        }
+    }
+
+    private void migrateFiles(StorageBackend source, StorageBackend target, MigrationReport report) {
+        int batchSize = Math.max(1, properties.getMigrationBatchSize());
+        UUID lastId = MIN_UUID;
+        while (true) {
+            List<Map<String, Object>> rows = jdbcTemplate.queryForList(
+                    FILE_COLUMNS + "WHERE storage_backend = ? AND id > ? ORDER BY id LIMIT ?",
+                    source.name(), lastId, batchSize);
+            if (rows.isEmpty()) {
+                return;
+            }
+            for (Map<String, Object> row : rows) {
+                lastId = (UUID) row.get("id");
+                try {
+                    migrateFile(row, source, target, true, properties.isMigrationDeleteSource(), report);
+                } catch (Exception e) {
+                    report.failed++;
+                    log.warn("[MIGRATION] Не удалось перенести файл {}: {}", lastId, e.getMessage());
+                }
+            }
+        }
+    }
+
+    public boolean moveFile(UUID fileId, StorageBackend target, boolean deleteSource) throws IOException {
+        StorageBackend source = target == StorageBackend.LOCAL
+                ? StorageBackend.OBJECT_STORE
+                : StorageBackend.LOCAL;
+        if (!storageRouter.isAvailable(StorageBackend.OBJECT_STORE)) {
+            return false;
+        }
+        List<Map<String, Object>> rows = jdbcTemplate.queryForList(
+                FILE_COLUMNS + "WHERE id = ? AND storage_backend = ?", fileId, source.name());
+        if (rows.isEmpty()) {
+            return false;
+        }
+        MigrationReport report = new MigrationReport(source, target);
+        migrateFile(rows.get(0), source, target, false, deleteSource, report);
+        return report.moved > 0;
+    }
+
+    private void migrateFile(Map<String, Object> row, StorageBackend source, StorageBackend target,
+                             boolean throttled, boolean deleteSource, MigrationReport report) throws IOException {
+        UUID id = (UUID) row.get("id");
+        UUID groupId = (UUID) row.get("group_id");
+        String storedName = (String) row.get("stored_name");
+        String filePath = (String) row.get("file_path");
+        String objectKey = (String) row.get("object_key");
+
+        byte[] data;
+        if (source == StorageBackend.LOCAL) {
+            if (filePath == null) {
+                return;
+            }
+            data = Files.readAllBytes(storageRouter.local().resolveExisting(filePath));
+        } else {
+            if (objectKey == null) {
+                return;
+            }
+            data = storageRouter.forBackend(source).get(objectKey);
+        }
+
+        String targetKey;
+        String targetObjectKey;
+        String targetFilePath;
+        if (target == StorageBackend.OBJECT_STORE) {
+            targetKey = ShardedKeyLayout.flatKey(groupId, storedName);
+            targetObjectKey = targetKey;
+            targetFilePath = null;
+        } else {
+            targetKey = properties.isLocalSharded()
+                    ? ShardedKeyLayout.shardedKey(groupId, storedName)
+                    : ShardedKeyLayout.flatKey(groupId, storedName);
+            targetObjectKey = null;
+            targetFilePath = storageRouter.local().pathForKey(targetKey);
+        }
+
+        if (throttled) {
+            throttle(data.length);
+        }
+        FileContentStorage targetStorage = storageRouter.forBackend(target);
+        copyVerified(targetStorage, targetKey, data, mimeOrDefault((String) row.get("mime_type")));
+
+        int updated = jdbcTemplate.update(
+                "UPDATE file_metadata SET storage_backend = ?, object_key = ?, file_path = ?, version = version + 1 " +
+                        "WHERE id = ? AND storage_backend = ? AND version = ?",
+                target.name(), targetObjectKey, targetFilePath, id, source.name(), row.get("version"));
+        if (updated == 0) {
+            report.conflicts++;
+            return;
+        }
+        report.moved++;
+        report.bytes += data.length;
+        if (deleteSource) {
+            if (source == StorageBackend.LOCAL) {
+                String localKey = storageRouter.local().keyForPath(filePath);
+                if (localKey != null) {
+                    deleteQuietly(storageRouter.local(), localKey);
+                }
+            } else {
+                deleteQuietly(storageRouter.forBackend(source), objectKey);
+            }
+        }
+    }
+
+    private void migrateRevisions(StorageBackend source, StorageBackend target, MigrationReport report) {
+        int batchSize = Math.max(1, properties.getMigrationBatchSize());
+        UUID lastId = MIN_UUID;
+        while (true) {
+            List<Map<String, Object>> rows = jdbcTemplate.queryForList(
+                    "SELECT id, storage_key FROM file_content_revision " +
+                            "WHERE storage_backend = ? AND id > ? ORDER BY id LIMIT ?",
+                    source.name(), lastId, batchSize);
+            if (rows.isEmpty()) {
+                return;
+            }
+            for (Map<String, Object> row : rows) {
+                lastId = (UUID) row.get("id");
+                String key = (String) row.get("storage_key");
+                try {
+                    byte[] data = storageRouter.forBackend(source).get(key);
+                    throttle(data.length);
+                    FileContentStorage targetStorage = storageRouter.forBackend(target);
+                    copyVerified(targetStorage, key, data, OCTET_STREAM);
+                    int updated = jdbcTemplate.update(
+                            "UPDATE file_content_revision SET storage_backend = ? WHERE id = ? AND storage_backend = ?",
+                            target.name(), lastId, source.name());
+                    if (updated == 0) {
+                        report.conflicts++;
+                        continue;
+                    }
+                    report.moved++;
+                    report.bytes += data.length;
+                    if (properties.isMigrationDeleteSource()) {
+                        deleteQuietly(storageRouter.forBackend(source), key);
+                    }
+                } catch (Exception e) {
+                    report.failed++;
+                    log.warn("[MIGRATION] Не удалось перенести ревизию {}: {}", lastId, e.getMessage());
+                }
+            }
+        }
+    }
+
+    private void migrateAvatars(StorageBackend source, StorageBackend target, MigrationReport report) {
+        int batchSize = Math.max(1, properties.getMigrationBatchSize());
+        UUID lastId = MIN_UUID;
+        while (true) {
+            List<Map<String, Object>> rows = jdbcTemplate.queryForList(
+                    "SELECT id, avatar_stored_name FROM users " +
+                            "WHERE avatar_stored_name IS NOT NULL AND COALESCE(avatar_storage_backend, 'LOCAL') = ? " +
+                            "AND id > ? ORDER BY id LIMIT ?",
+                    source.name(), lastId, batchSize);
+            if (rows.isEmpty()) {
+                return;
+            }
+            for (Map<String, Object> row : rows) {
+                lastId = (UUID) row.get("id");
+                String storedName = (String) row.get("avatar_stored_name");
+                String key = UserServiceImpl.avatarKey(lastId, storedName);
+                try {
+                    byte[] data = storageRouter.forBackend(source).get(key);
+                    throttle(data.length);
+                    FileContentStorage targetStorage = storageRouter.forBackend(target);
+                    copyVerified(targetStorage, key, data, OCTET_STREAM);
+                    int updated = jdbcTemplate.update(
+                            "UPDATE users SET avatar_storage_backend = ? WHERE id = ? AND avatar_stored_name = ? " +
+                                    "AND COALESCE(avatar_storage_backend, 'LOCAL') = ?",
+                            target.name(), lastId, storedName, source.name());
+                    if (updated == 0) {
+                        report.conflicts++;
+                        continue;
+                    }
+                    report.moved++;
+                    report.bytes += data.length;
+                    if (properties.isMigrationDeleteSource()) {
+                        deleteQuietly(storageRouter.forBackend(source), key);
+                    }
+                } catch (Exception e) {
+                    report.failed++;
+                    log.warn("[MIGRATION] Не удалось перенести аватар пользователя {}: {}", lastId, e.getMessage());
+                }
+            }
+        }
+    }
+
+    private void copyVerified(FileContentStorage target, String key, byte[] data, String contentType) throws IOException {
+        byte[] expected = sha256(data);
+        target.put(key, new ByteArrayInputStream(data), data.length, contentType);
+        byte[] stored = target.get(key);
+        if (!Arrays.equals(expected, sha256(stored))) {
+            deleteQuietly(target, key);
+            throw new IOException("Checksum mismatch after copy: " + key);
+        }
+    }
+
+    private void throttle(long bytes) {
+        long limit = properties.getMigrationMaxBytesPerSecond();
+        if (limit <= 0) {
+            return;
+        }
+        windowBytes += bytes;
+        long elapsedMs = (System.nanoTime() - windowStartNanos) / 1_000_000L;
+        long expectedMs = windowBytes * 1000L / limit;
+        if (expectedMs > elapsedMs) {
+            try {
+                Thread.sleep(expectedMs - elapsedMs);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+
+    private void deleteQuietly(FileContentStorage storage, String key) {
+        try {
+            storage.delete(key);
+        } catch (IOException | RuntimeException e) {
+            log.debug("[MIGRATION] Не удалось удалить {} из {}: {}", key, storage.getBackendType(), e.getMessage());
+        }
+    }
+
+    private static String mimeOrDefault(String mime) {
+        return mime != null ? mime : OCTET_STREAM;
+    }
+
+    private static byte[] sha256(byte[] data) {
+        try {
+            return MessageDigest.getInstance("SHA-256").digest(data);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    public static class MigrationReport {
+        private final StorageBackend source;
+        private final StorageBackend target;
+        private long moved;
+        private long bytes;
+        private long conflicts;
+        private long failed;
+
+        MigrationReport(StorageBackend source, StorageBackend target) {
+            this.source = source;
+            this.target = target;
+        }
+
+        public StorageBackend getSource() {
+            return source;
+        }
+
+        public StorageBackend getTarget() {
+            return target;
+        }
+
+        public long getMoved() {
+            return moved;
+        }
+
+        public long getBytes() {
+            return bytes;
+        }
+
+        public long getConflicts() {
+            return conflicts;
+        }
+
+        public long getFailed() {
+            return failed;
+        }
+    }
+}
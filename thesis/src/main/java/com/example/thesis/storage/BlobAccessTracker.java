@@ -0,0 +1,88 @@
+package com.example.thesis.storage;
+
+import com.example.thesis.config.StorageProperties;
+import com.example.thesis.models.FileMetadata;
+import com.example.thesis.models.enums.StorageTier;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+
+@Component
+public class BlobAccessTracker {
+
+    private static final Logger log = LoggerFactory.getLogger(BlobAccessTracker.class);
+
+    private static final int MAX_PENDING = 10_000;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final StorageProperties properties;
+    private final Map<UUID, LocalDateTime> pending = new ConcurrentHashMap<>();
+    private final Set<UUID> promotions = ConcurrentHashMap.newKeySet();
+
+    public BlobAccessTracker(JdbcTemplate jdbcTemplate, StorageProperties properties) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.properties = properties;
+    }
+
+    public void recordAccess(FileMetadata fm) {
+        if (!properties.isTieringEnabled() || fm == null || fm.getId() == null) {
+            return;
+        }
+        boolean cold = fm.getStorageBackend() != null && fm.getStorageBackend().getTier() == StorageTier.COLD;
+        if (cold && properties.isTieringPromoteOnAccess() && !properties.isNewFilesObject()
+                && promotions.size() < MAX_PENDING) {
+            promotions.add(fm.getId());
+        }
+        if (!cold && ThreadLocalRandom.current().nextDouble() >= properties.getTieringAccessSampleRate()) {
+            return;
+        }
+        if (pending.size() < MAX_PENDING || pending.containsKey(fm.getId())) {
+            pending.put(fm.getId(), LocalDateTime.now());
+        }
+    }
+
+    public List<UUID> drainPromotions(int limit) {
+        List<UUID> out = new ArrayList<>(Math.min(limit, promotions.size()));
+        Iterator<UUID> it = promotions.iterator();
+        while (it.hasNext() && out.size() < limit) {
+            out.add(it.next());
+            it.remove();
+        }
+        return out;
+    }
+
+    @Scheduled(fixedDelayString = "${app.storage.tiering-access-flush-ms:10000}")
+    public void flush() {
+        if (pending.isEmpty()) {
+            return;
+        }
+        List<Object[]> batch = new ArrayList<>(pending.size());
+        Iterator<Map.Entry<UUID, LocalDateTime>> it = pending.entrySet().iterator();
+        while (it.hasNext()) {
+            Map.Entry<UUID, LocalDateTime> e = it.next();
+            it.remove();
+            Timestamp at = Timestamp.valueOf(e.getValue());
+            batch.add(new Object[]{at, at, e.getKey()});
+        }
+        try {
+            jdbcTemplate.batchUpdate(
+                    "UPDATE file_metadata SET last_accessed_at = GREATEST(COALESCE(last_accessed_at, ?), ?) WHERE id = ?",
+                    batch);
+        } catch (RuntimeException e) {
+            log.warn("[TIERING] Не удалось сохранить отметки доступа ({} шт.): {}", batch.size(), e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,63 @@
+package com.example.thesis.storage;
+
+import java.nio.charset.StandardCharsets;
+
+public final class BlobKeyBloomFilter {
+
+    private final long[] bits;
+    private final long bitCount;
+    private final int hashCount;
+    private final long seed;
+
+    public BlobKeyBloomFilter(long expectedKeys, double falsePositiveRate, long seed) {
+        long n = Math.max(1L, expectedKeys);
+        double p = Math.min(0.5, Math.max(1e-6, falsePositiveRate));
+        long m = (long) Math.ceil(-n * Math.log(p) / (Math.log(2) * Math.log(2)));
+        m = Math.max(64L, Math.min(m, (long) Integer.MAX_VALUE * 64L));
+        this.bits = new long[(int) ((m + 63) / 64)];
+        this.bitCount = (long) bits.length * 64L;
+        this.hashCount = Math.max(1, (int) Math.round((double) m / n * Math.log(2)));
+        this.seed = seed;
+    }
+
+    public void add(String key) {
+        long h1 = hash(key, seed);
+        long h2 = hash(key, ~seed) | 1L;
+        for (int i = 0; i < hashCount; i++) {
+            long idx = Math.floorMod(h1 + i * h2, bitCount);
+            bits[(int) (idx >>> 6)] |= 1L << (idx & 63);
+        }
+    }
+
+    public boolean mightContain(String key) {
+        long h1 = hash(key, seed);
+        long h2 = hash(key, ~seed) | 1L;
+        for (int i = 0; i < hashCount; i++) {
+            long idx = Math.floorMod(h1 + i * h2, bitCount);
+            if ((bits[(int) (idx >>> 6)] & (1L << (idx & 63))) == 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    public long sizeInBytes() {
+        return (long) bits.length * 8L;
+    }
+
+    private static long hash(String key, long seed) {
+        byte[] data = key.getBytes(StandardCharsets.UTF_8);
+        long h = seed ^ 0x9E3779B97F4A7C15L;
+        for (byte b : data) {
+            h ^= (b & 0xFF);
+            h *= 0x100000001B3L;
+            h = Long.rotateLeft(h, 31);
+        }
+        h ^= h >>> 33;
+        h *= 0xFF51AFD7ED558CCDL;
+        h ^= h >>> 33;
+        h *= 0xC4CEB9FE1A85EC53L;
+        h ^= h >>> 33;
+        return h;
+    }
+}
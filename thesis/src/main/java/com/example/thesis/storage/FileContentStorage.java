@@ -4,6 +4,7 @@ import com.example.thesis.models.enums.StorageBackend;
 
 import java.io.IOException;
 import java.io.InputStream;
+import java.util.stream.Stream;
 
 public interface FileContentStorage {
 
@@ -14,4 +15,6 @@ public interface FileContentStorage {
     byte[] get(String key) throws IOException;
 
     void delete(String key) throws IOException;
+
+    Stream<StoredBlob> listBlobs() throws IOException;
 }
@@ -6,10 +6,13 @@ import org.springframework.stereotype.Component;
 
 import java.io.IOException;
 import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.file.AtomicMoveNotSupportedException;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
 import java.nio.file.StandardCopyOption;
+import java.util.stream.Stream;
 
 @Component
 public class LocalFileContentStorage implements FileContentStorage {
@@ -39,7 +42,84 @@ public class LocalFileContentStorage implements FileContentStorage {
         Files.deleteIfExists(resolve(key));
     }
 
-    
+    @Override
+    public Stream<StoredBlob> listBlobs() throws IOException {
+        Path root = root();
+        if (!Files.isDirectory(root)) {
+            return Stream.empty();
+        }
+        return Files.walk(root)
+                .filter(Files::isRegularFile)
+                .map(p -> {
+                    try {
+                        return new StoredBlob(keyOf(root, p), Files.getLastModifiedTime(p).toInstant(), Files.size(p));
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                });
+    }
+
+    public String pathForKey(String key) {
+        return Paths.get(uploadDir).resolve(key).toString();
+    }
+
+    public Path resolveExisting(String filePath) {
+        Path p = Paths.get(filePath);
+        if (Files.exists(p)) {
+            return p;
+        }
+        Path name = p.getFileName();
+        Path parent = p.getParent();
+        if (name == null || parent == null) {
+            return p;
+        }
+        Path alternative;
+        Path grandParent = parent.getParent();
+        if (grandParent != null && grandParent.getParent() != null
+                && ShardedKeyLayout.isShardDir(parent.getFileName().toString())
+                && ShardedKeyLayout.isShardDir(grandParent.getFileName().toString())) {
+            alternative = grandParent.getParent().resolve(name);
+        } else {
+            alternative = parent.resolve(ShardedKeyLayout.shardDirs(name.toString())).resolve(name);
+        }
+        return Files.exists(alternative) ? alternative : p;
+    }
+
+    public boolean exists(String key) {
+        return Files.isRegularFile(resolve(key));
+    }
+
+    public void move(String fromKey, String toKey) throws IOException {
+        Path from = resolve(fromKey);
+        Path to = resolve(toKey);
+        Files.createDirectories(to.getParent());
+        try {
+            Files.move(from, to, StandardCopyOption.ATOMIC_MOVE);
+        } catch (AtomicMoveNotSupportedException e) {
+            Files.move(from, to, StandardCopyOption.REPLACE_EXISTING);
+        }
+    }
+
+    public String keyForPath(String filePath) {
+        if (filePath == null || filePath.isBlank()) {
+            return null;
+        }
+        Path root = root();
+        Path p = Paths.get(filePath).toAbsolutePath().normalize();
+        if (!p.startsWith(root)) {
+            return null;
+        }
+        return keyOf(root, p);
+    }
+
+    private Path root() {
+        return Paths.get(uploadDir).toAbsolutePath().normalize();
+    }
+
+    private static String keyOf(Path root, Path file) {
+        return root.relativize(file).toString().replace('\\', '/');
+    }
+
     private Path resolve(String key) {
         return Paths.get(uploadDir).resolve(key).normalize();
     }
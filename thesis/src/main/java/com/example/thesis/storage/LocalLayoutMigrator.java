@@ -0,0 +1,104 @@
+package com.example.thesis.storage;
+
+import com.example.thesis.config.StorageProperties;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+@Component
+public class LocalLayoutMigrator {
+
+    private static final Logger log = LoggerFactory.getLogger(LocalLayoutMigrator.class);
+
+    private static final UUID MIN_UUID = new UUID(Long.MIN_VALUE, Long.MIN_VALUE);
+
+    private final JdbcTemplate jdbcTemplate;
+    private final LocalFileContentStorage localStorage;
+    private final StorageProperties properties;
+    private final AtomicBoolean running = new AtomicBoolean(false);
+
+    public LocalLayoutMigrator(JdbcTemplate jdbcTemplate,
+                               LocalFileContentStorage localStorage,
+                               StorageProperties properties) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.localStorage = localStorage;
+        this.properties = properties;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void migrateOnStartup() {
+        if (!properties.isLocalSharded() || !properties.isLocalLayoutMigrateOnStartup()) {
+            return;
+        }
+        Thread t = new Thread(this::migrate, "local-layout-migrator");
+        t.setDaemon(true);
+        t.start();
+    }
+
+    public int migrate() {
+        if (!running.compareAndSet(false, true)) {
+            return 0;
+        }
+        int moved = 0;
+        int failed = 0;
+        try {
+            int batchSize = Math.max(1, properties.getLocalLayoutMigrationBatchSize());
+            UUID lastId = MIN_UUID;
+            while (true) {
+                List<Map<String, Object>> rows = jdbcTemplate.queryForList(
+                        "SELECT id, file_path, stored_name, group_id FROM file_metadata " +
+                                "WHERE storage_backend = 'LOCAL' AND file_path IS NOT NULL AND id > ? " +
+                                "ORDER BY id LIMIT ?",
+                        lastId, batchSize);
+                if (rows.isEmpty()) {
+                    break;
+                }
+                for (Map<String, Object> row : rows) {
+                    lastId = (UUID) row.get("id");
+                    try {
+                        if (migrateRow(row)) {
+                            moved++;
+                        }
+                    } catch (Exception e) {
+                        failed++;
+                        log.warn("[STORAGE] Не удалось перенести файл {}: {}", row.get("id"), e.getMessage());
+                    }
+                }
+            }
+            log.info("[STORAGE] Перенос в шардированную раскладку: перенесено {}, ошибок {}", moved, failed);
+            return moved;
+        } finally {
+            running.set(false);
+        }
+    }
+
+    private boolean migrateRow(Map<String, Object> row) throws IOException {
+        UUID id = (UUID) row.get("id");
+        String filePath = (String) row.get("file_path");
+        String storedName = (String) row.get("stored_name");
+        UUID groupId = (UUID) row.get("group_id");
+
+        String flatKey = ShardedKeyLayout.flatKey(groupId, storedName);
+        if (!flatKey.equals(localStorage.keyForPath(filePath))) {
+            return false;
+        }
+        String shardedKey = ShardedKeyLayout.shardedKey(groupId, storedName);
+        if (localStorage.exists(flatKey)) {
+            localStorage.move(flatKey, shardedKey);
+        } else if (!localStorage.exists(shardedKey)) {
+            return false;
+        }
+        jdbcTemplate.update("UPDATE file_metadata SET file_path = ? WHERE id = ? AND file_path = ?",
+                localStorage.pathForKey(shardedKey), id, filePath);
+        return true;
+    }
+}
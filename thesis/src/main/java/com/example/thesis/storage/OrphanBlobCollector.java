@@ -0,0 +1,282 @@
+package com.example.thesis.storage;
+
+import com.example.thesis.config.StorageProperties;
+import com.example.thesis.models.enums.StorageBackend;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.io.IOException;
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.Stream;
+
+@Component
+public class OrphanBlobCollector {
+
+    private static final Logger log = LoggerFactory.getLogger(OrphanBlobCollector.class);
+
+    private static final double BLOOM_FPP = 0.01;
+    private static final String AVATAR_PREFIX = "avatars/";
+
+    private static final String AVATAR_ON_BACKEND = "COALESCE(avatar_storage_backend, 'LOCAL') = :backend";
+
+    private static final String LIVE_FILE = "(COALESCE(f.is_deleted, false) = false OR f.last_modified >= :cutoff)";
+
+    private final LocalFileContentStorage localStorage;
+    private final S3CompatibleFileContentStorage objectStorage;
+    private final StorageProperties properties;
+    private final NamedParameterJdbcTemplate jdbc;
+    private final TransactionTemplate readOnlyTx;
+    private final AtomicBoolean running = new AtomicBoolean(false);
+
+    public OrphanBlobCollector(LocalFileContentStorage localStorage,
+                               @Autowired(required = false) S3CompatibleFileContentStorage objectStorage,
+                               StorageProperties properties,
+                               DataSource dataSource,
+                               PlatformTransactionManager transactionManager) {
+        this.localStorage = localStorage;
+        this.objectStorage = objectStorage;
+        this.properties = properties;
+        JdbcTemplate streaming = new JdbcTemplate(dataSource);
+        streaming.setFetchSize(1000);
+        this.jdbc = new NamedParameterJdbcTemplate(streaming);
+        this.readOnlyTx = new TransactionTemplate(transactionManager);
+        this.readOnlyTx.setReadOnly(true);
+    }
+
+    @Scheduled(cron = "${app.storage.gc-cron:0 30 3 * * *}")
+    public void scheduledRun() {
+        if (properties.isGcEnabled()) {
+            runAll();
+        }
+    }
+
+    public List<GcReport> runAll() {
+        if (!running.compareAndSet(false, true)) {
+            log.info("[GC] Сборка мусора уже выполняется, пропуск");
+            return List.of();
+        }
+        try {
+            List<GcReport> reports = new ArrayList<>();
+            reports.add(collect(localStorage));
+            if (objectStorage != null) {
+                reports.add(collect(objectStorage));
+            }
+            return reports;
+        } finally {
+            running.set(false);
+        }
+    }
+
+    public GcReport collect(FileContentStorage storage) {
+        Duration grace = Duration.ofHours(Math.max(1, properties.getGcGraceHours()));
+        Instant blobCutoff = Instant.now().minus(grace);
+        LocalDateTime liveCutoff = LocalDateTime.now().minus(grace);
+        StorageBackend backend = storage.getBackendType();
+        GcReport report = new GcReport(backend, properties.isGcDryRun());
+
+        BlobKeyBloomFilter referenced = readOnlyTx.execute(status -> mark(backend, liveCutoff));
+        if (referenced == null) {
+            return report;
+        }
+
+        int batchSize = Math.max(1, properties.getGcBatchSize());
+        List<StoredBlob> candidates = new ArrayList<>(batchSize);
+        try (Stream<StoredBlob> blobs = storage.listBlobs()) {
+            var it = blobs.iterator();
+            while (it.hasNext()) {
+                StoredBlob blob = it.next();
+                report.scanned++;
+                if (blob.getLastModified() == null || blob.getLastModified().isAfter(blobCutoff)) {
+                    continue;
+                }
+                if (referenced.mightContain(blob.getKey())) {
+                    continue;
+                }
+                candidates.add(blob);
+                if (candidates.size() >= batchSize) {
+                    sweepBatch(storage, candidates, liveCutoff, report);
+                    candidates.clear();
+                    pause();
+                }
+            }
+            if (!candidates.isEmpty()) {
+                sweepBatch(storage, candidates, liveCutoff, report);
+            }
+        } catch (IOException | RuntimeException e) {
+            log.warn("[GC] {}: ошибка при обходе хранилища: {}", backend, e.getMessage());
+        }
+
+        log.info("[GC] {}: просмотрено {}, кандидатов {}, удалено {} ({} байт){}",
+                backend, report.scanned, report.candidates, report.deleted, report.bytesFreed,
+                report.dryRun ? " [dry-run]" : "");
+        return report;
+    }
+
+    private BlobKeyBloomFilter mark(StorageBackend backend, LocalDateTime liveCutoff) {
+        MapSqlParameterSource params = new MapSqlParameterSource()
+                .addValue("backend", backend.name())
+                .addValue("cutoff", Timestamp.valueOf(liveCutoff));
+
+        Long expected = jdbc.queryForObject(
+                "SELECT 2 * (SELECT COUNT(*) FROM file_metadata) + (SELECT COUNT(*) FROM file_content_revision) " +
+                        "+ (SELECT COUNT(*) FROM users WHERE avatar_stored_name IS NOT NULL)",
+                params, Long.class);
+        BlobKeyBloomFilter filter = new BlobKeyBloomFilter(
+                expected != null ? expected : 0L, BLOOM_FPP, ThreadLocalRandom.current().nextLong());
+
+        jdbc.query("SELECT f.object_key, f.file_path FROM file_metadata f " +
+                        "WHERE f.storage_backend = :backend AND " + LIVE_FILE,
+                params, rs -> {
+                    if (backend == StorageBackend.LOCAL) {
+                        localKeys(localStorage.keyForPath(rs.getString("file_path"))).forEach(filter::add);
+                    } else if (rs.getString("object_key") != null) {
+                        filter.add(rs.getString("object_key"));
+                    }
+                });
+
+        jdbc.query("SELECT r.storage_key FROM file_content_revision r JOIN file_metadata f ON f.id = r.file_id " +
+                        "WHERE r.storage_backend = :backend AND " + LIVE_FILE,
+                params, rs -> {
+                    filter.add(rs.getString("storage_key"));
+                });
+
+        jdbc.query("SELECT id, avatar_stored_name FROM users WHERE avatar_stored_name IS NOT NULL " +
+                        "AND " + AVATAR_ON_BACKEND,
+                params, rs -> {
+                    filter.add(AVATAR_PREFIX + rs.getString("id") + "/" + rs.getString("avatar_stored_name"));
+                });
+        return filter;
+    }
+
+    private void sweepBatch(FileContentStorage storage, List<StoredBlob> batch,
+                            LocalDateTime liveCutoff, GcReport report) {
+        report.candidates += batch.size();
+        Set<String> stillReferenced = verifyReferenced(storage.getBackendType(), batch, liveCutoff);
+        for (StoredBlob blob : batch) {
+            if (stillReferenced.contains(blob.getKey())) {
+                continue;
+            }
+            if (report.dryRun) {
+                log.debug("[GC] {}: кандидат на удаление {}", storage.getBackendType(), blob.getKey());
+                continue;
+            }
+            try {
+                storage.delete(blob.getKey());
+                report.deleted++;
+                report.bytesFreed += blob.getSize();
+            } catch (IOException | RuntimeException e) {
+                log.warn("[GC] {}: не удалось удалить {}: {}", storage.getBackendType(), blob.getKey(), e.getMessage());
+            }
+        }
+    }
+
+    private Set<String> verifyReferenced(StorageBackend backend, List<StoredBlob> batch, LocalDateTime liveCutoff) {
+        List<String> keys = batch.stream().map(StoredBlob::getKey).toList();
+        List<String> lastSegments = keys.stream().map(k -> k.substring(k.lastIndexOf('/') + 1)).distinct().toList();
+        MapSqlParameterSource params = new MapSqlParameterSource()
+                .addValue("backend", backend.name())
+                .addValue("cutoff", Timestamp.valueOf(liveCutoff))
+                .addValue("keys", keys)
+                .addValue("names", lastSegments);
+
+        Set<String> out = new HashSet<>();
+        if (backend == StorageBackend.LOCAL) {
+            jdbc.query("SELECT f.file_path FROM file_metadata f WHERE f.stored_name IN (:names) " +
+                            "AND f.storage_backend = :backend AND " + LIVE_FILE,
+                    params, rs -> {
+                        out.addAll(localKeys(localStorage.keyForPath(rs.getString("file_path"))));
+                    });
+        } else {
+            out.addAll(jdbc.queryForList("SELECT f.object_key FROM file_metadata f WHERE f.object_key IN (:keys) " +
+                    "AND f.storage_backend = :backend AND " + LIVE_FILE, params, String.class));
+        }
+        jdbc.query("SELECT id, avatar_stored_name FROM users WHERE avatar_stored_name IN (:names) " +
+                        "AND " + AVATAR_ON_BACKEND,
+                params, rs -> {
+                    out.add(AVATAR_PREFIX + rs.getString("id") + "/" + rs.getString("avatar_stored_name"));
+                });
+        out.addAll(jdbc.queryForList("SELECT r.storage_key FROM file_content_revision r " +
+                "JOIN file_metadata f ON f.id = r.file_id WHERE r.storage_key IN (:keys) " +
+                "AND r.storage_backend = :backend AND " + LIVE_FILE, params, String.class));
+        return out;
+    }
+
+    /**
+     * A LOCAL row references its blob in both layouts: the migrator moves the file before it rewrites
+     * file_path, and reads fall back to the other layout, so a half-migrated row must keep both alive.
+     */
+    static List<String> localKeys(String key) {
+        if (key == null) {
+            return List.of();
+        }
+        return List.of(key, ShardedKeyLayout.alternativeKey(key));
+    }
+
+    private void pause() {
+        long ms = properties.getGcBatchPauseMs();
+        if (ms <= 0) {
+            return;
+        }
+        try {
+            Thread.sleep(ms);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    public static class GcReport {
+        private final StorageBackend backend;
+        private final boolean dryRun;
+        private long scanned;
+        private long candidates;
+        private long deleted;
+        private long bytesFreed;
+
+        GcReport(StorageBackend backend, boolean dryRun) {
+            this.backend = backend;
+            this.dryRun = dryRun;
+        }
+
+        public StorageBackend getBackend() {
+            return backend;
+        }
+
+        public boolean isDryRun() {
+            return dryRun;
+        }
+
+        public long getScanned() {
+            return scanned;
+        }
+
+        public long getCandidates() {
+            return candidates;
+        }
+
+        public long getDeleted() {
+            return deleted;
+        }
+
+        public long getBytesFreed() {
+            return bytesFreed;
+        }
+    }
+}
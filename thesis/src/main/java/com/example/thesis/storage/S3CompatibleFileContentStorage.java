@@ -8,10 +8,12 @@ import software.amazon.awssdk.core.sync.RequestBody;
 import software.amazon.awssdk.services.s3.S3Client;
 import software.amazon.awssdk.services.s3.model.DeleteObjectRequest;
 import software.amazon.awssdk.services.s3.model.GetObjectRequest;
+import software.amazon.awssdk.services.s3.model.ListObjectsV2Request;
 import software.amazon.awssdk.services.s3.model.PutObjectRequest;
 
 import java.io.IOException;
 import java.io.InputStream;
+import java.util.stream.Stream;
 
 @Component
 @ConditionalOnProperty(name = "app.storage.object-enabled", havingValue = "true")
@@ -60,4 +62,14 @@ public class S3CompatibleFileContentStorage implements FileContentStorage {
                 .key(key)
                 .build());
     }
+
+    @Override
+    public Stream<StoredBlob> listBlobs() {
+        ListObjectsV2Request req = ListObjectsV2Request.builder()
+                .bucket(properties.getObjectBucket())
+                .maxKeys(1000)
+                .build();
+        return s3Client.listObjectsV2Paginator(req).contents().stream()
+                .map(o -> new StoredBlob(o.key(), o.lastModified(), o.size() != null ? o.size() : 0L));
+    }
 }
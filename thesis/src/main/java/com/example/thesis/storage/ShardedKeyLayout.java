@@ -0,0 +1,44 @@
+package com.example.thesis.storage;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.UUID;
+import java.util.zip.CRC32;
+
+public final class ShardedKeyLayout {
+
+    private ShardedKeyLayout() {
+    }
+
+    public static String flatKey(UUID groupId, String storedName) {
+        return groupId + "/" + storedName;
+    }
+
+    public static String shardedKey(UUID groupId, String storedName) {
+        return groupId + "/" + shardDirs(storedName) + "/" + storedName;
+    }
+
+    public static String shardDirs(String storedName) {
+        CRC32 crc = new CRC32();
+        crc.update(storedName.getBytes(StandardCharsets.UTF_8));
+        String hex = String.format("%08x", crc.getValue());
+        return hex.substring(0, 2) + "/" + hex.substring(2, 4);
+    }
+
+    public static String alternativeKey(String key) {
+        int slash = key.lastIndexOf('/');
+        String name = key.substring(slash + 1);
+        String[] dirs = slash < 0 ? new String[0] : key.substring(0, slash).split("/");
+        int n = dirs.length;
+        if (n >= 3 && isShardDir(dirs[n - 1]) && isShardDir(dirs[n - 2])) {
+            return String.join("/", Arrays.copyOf(dirs, n - 2)) + "/" + name;
+        }
+        return (n == 0 ? "" : String.join("/", dirs) + "/") + shardDirs(name) + "/" + name;
+    }
+
+    public static boolean isShardDir(String segment) {
+        return segment != null && segment.length() == 2
+                && Character.digit(segment.charAt(0), 16) >= 0
+                && Character.digit(segment.charAt(1), 16) >= 0;
+    }
+}
@@ -0,0 +1,48 @@
+package com.example.thesis.storage;
+
+import com.example.thesis.config.StorageProperties;
+import com.example.thesis.models.enums.StorageBackend;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+
+@Component
+public class StorageRouter {
+
+    private final LocalFileContentStorage localStorage;
+    private final S3CompatibleFileContentStorage objectStorage;
+    private final StorageProperties storageProperties;
+
+    public StorageRouter(LocalFileContentStorage localStorage,
+                         @Autowired(required = false) S3CompatibleFileContentStorage objectStorage,
+                         StorageProperties storageProperties) {
+        this.localStorage = localStorage;
+        this.objectStorage = objectStorage;
+        this.storageProperties = storageProperties;
+    }
+
+    public FileContentStorage forBackend(StorageBackend backend) throws IOException {
+        if (backend == StorageBackend.OBJECT_STORE) {
+            if (objectStorage == null) {
+                throw new IOException("Object storage unavailable");
+            }
+            return objectStorage;
+        }
+        return localStorage;
+    }
+
+    public boolean isAvailable(StorageBackend backend) {
+        return backend != StorageBackend.OBJECT_STORE || objectStorage != null;
+    }
+
+    public StorageBackend backendForNewUploads() {
+        return HybridStorageDecision.useObjectStoreForNewUploads(storageProperties, objectStorage != null)
+                ? StorageBackend.OBJECT_STORE
+                : StorageBackend.LOCAL;
+    }
+
+    public LocalFileContentStorage local() {
+        return localStorage;
+    }
+}
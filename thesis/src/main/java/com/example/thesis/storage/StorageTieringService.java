@@ -0,0 +1,132 @@
+package com.example.thesis.storage;
+
+import com.example.thesis.config.StorageProperties;
+import com.example.thesis.models.enums.StorageBackend;
+import com.example.thesis.models.enums.StorageTier;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+@Component
+public class StorageTieringService {
+
+    private static final Logger log = LoggerFactory.getLogger(StorageTieringService.class);
+
+    private static final UUID MIN_UUID = new UUID(Long.MIN_VALUE, Long.MIN_VALUE);
+
+    private final JdbcTemplate jdbcTemplate;
+    private final BackendMigrator migrator;
+    private final BlobAccessTracker accessTracker;
+    private final StorageRouter storageRouter;
+    private final StorageProperties properties;
+    private final AtomicBoolean running = new AtomicBoolean(false);
+
+    public StorageTieringService(JdbcTemplate jdbcTemplate,
+                                 BackendMigrator migrator,
+                                 BlobAccessTracker accessTracker,
+                                 StorageRouter storageRouter,
+                                 StorageProperties properties) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.migrator = migrator;
+        this.accessTracker = accessTracker;
+        this.storageRouter = storageRouter;
+        this.properties = properties;
+    }
+
+    private boolean active() {
+        return properties.isTieringEnabled()
+                && !properties.isMigrationEnabled()
+                && storageRouter.isAvailable(StorageBackend.forTier(StorageTier.COLD));
+    }
+
+    @Scheduled(cron = "${app.storage.tiering-cron:0 0 4 * * *}")
+    public void scheduledDemotion() {
+        if (active()) {
+            demoteColdFiles();
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${app.storage.tiering-access-flush-ms:10000}")
+    public void scheduledPromotion() {
+        if (active()) {
+            promoteAccessedFiles();
+        } else {
+            accessTracker.drainPromotions(Integer.MAX_VALUE);
+        }
+    }
+
+    public int demoteColdFiles() {
+        if (!running.compareAndSet(false, true)) {
+            return 0;
+        }
+        StorageBackend hot = StorageBackend.forTier(StorageTier.HOT);
+        StorageBackend cold = StorageBackend.forTier(StorageTier.COLD);
+        LocalDateTime now = LocalDateTime.now();
+        Timestamp fileCutoff = Timestamp.valueOf(now.minusDays(Math.max(1, properties.getTieringColdAfterDays())));
+        Timestamp mediaCutoff = Timestamp.valueOf(now.minusDays(Math.max(1, properties.getTieringChatMediaColdAfterDays())));
+        int batchSize = Math.max(1, properties.getTieringBatchSize());
+        int demoted = 0;
+        int failed = 0;
+        try {
+            UUID lastId = MIN_UUID;
+            while (true) {
+                List<UUID> ids = jdbcTemplate.queryForList(
+                        "SELECT id FROM file_metadata WHERE storage_backend = ? AND COALESCE(is_deleted, false) = false " +
+                                "AND COALESCE(last_accessed_at, last_modified, upload_date) < " +
+                                "CASE WHEN chat_media THEN ? ELSE ? END " +
+                                "AND id > ? ORDER BY id LIMIT ?",
+                        UUID.class, hot.name(), mediaCutoff, fileCutoff, lastId, batchSize);
+                if (ids.isEmpty()) {
+                    break;
+                }
+                for (UUID id : ids) {
+                    lastId = id;
+                    try {
+                        if (migrator.moveFile(id, cold, true)) {
+                            demoted++;
+                        }
+                    } catch (Exception e) {
+                        failed++;
+                        log.warn("[TIERING] Не удалось перенести файл {} в {}: {}", id, cold, e.getMessage());
+                    }
+                }
+            }
+            log.info("[TIERING] Перенесено в холодный уровень: {}, ошибок {}", demoted, failed);
+            return demoted;
+        } finally {
+            running.set(false);
+        }
+    }
+
+    public int promoteAccessedFiles() {
+        if (properties.isNewFilesObject()) {
+            // the object store is the shared primary here; a local copy would live on one node only
+            accessTracker.drainPromotions(Integer.MAX_VALUE);
+            return 0;
+        }
+        List<UUID> ids = accessTracker.drainPromotions(Math.max(1, properties.getTieringBatchSize()));
+        StorageBackend hot = StorageBackend.forTier(StorageTier.HOT);
+        int promoted = 0;
+        for (UUID id : ids) {
+            try {
+                if (migrator.moveFile(id, hot, false)) {
+                    promoted++;
+                }
+            } catch (Exception e) {
+                log.warn("[TIERING] Не удалось вернуть файл {} в {}: {}", id, hot, e.getMessage());
+            }
+        }
+        if (promoted > 0) {
+            log.info("[TIERING] Возвращено в горячий уровень: {}", promoted);
+        }
+        return promoted;
+    }
+}
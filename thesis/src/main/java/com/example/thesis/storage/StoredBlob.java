@@ -0,0 +1,28 @@
+package com.example.thesis.storage;
+
+import java.time.Instant;
+
+public class StoredBlob {
+
+    private final String key;
+    private final Instant lastModified;
+    private final long size;
+
+    public StoredBlob(String key, Instant lastModified, long size) {
+        this.key = key;
+        this.lastModified = lastModified;
+        this.size = size;
+    }
+
+    public String getKey() {
+        return key;
+    }
+
+    public Instant getLastModified() {
+        return lastModified;
+    }
+
+    public long getSize() {
+        return size;
+    }
+}
@@ -0,0 +1,85 @@
+package com.example.thesis.config;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.MessageChannel;
+import org.springframework.messaging.MessageHandler;
+import org.springframework.messaging.simp.SimpMessageHeaderAccessor;
+import org.springframework.messaging.simp.SimpMessageType;
+import org.springframework.messaging.support.MessageBuilder;
+
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+class OutboundBackpressureInterceptorTest {
+
+    private final MessageChannel channel = (message, timeout) -> true;
+    private final MessageHandler handler = message -> { };
+
+    private static Message<String> frame(String sessionId, String destination, String payload) {
+        SimpMessageHeaderAccessor accessor = SimpMessageHeaderAccessor.create(SimpMessageType.MESSAGE);
+        accessor.setSessionId(sessionId);
+        accessor.setDestination(destination);
+        return MessageBuilder.createMessage(payload, accessor.getMessageHeaders());
+    }
+
+    @Test
+    void onlyLatestPresenceFrameIsDelivered() {
+        OutboundBackpressureInterceptor interceptor = new OutboundBackpressureInterceptor(new WebSocketTransportProperties());
+        Message<String> first = frame("s1", "/topic/group.g.presence", "[a]");
+        Message<String> second = frame("s1", "/topic/group.g.presence", "[a,b]");
+
+        assertNotNull(interceptor.preSend(first, channel));
+        assertNotNull(interceptor.preSend(second, channel));
+
+        assertNull(interceptor.beforeHandle(first, channel, handler));
+        assertEquals(1, interceptor.snapshot().get("queued"));
+        assertSame(second, interceptor.beforeHandle(second, channel, handler));
+        interceptor.afterMessageHandled(second, channel, handler, null);
+
+        Map<String, Object> snapshot = interceptor.snapshot();
+        assertEquals(1L, snapshot.get("coalesced"));
+        assertEquals(0, snapshot.get("queued"));
+        assertEquals(1L, ((Map<?, ?>) ((Map<?, ?>) snapshot.get("perSession")).get("s1")).get("sent"));
+    }
+
+    @Test
+    void coalescedFramesDoNotLeakQueueSlots() {
+        WebSocketTransportProperties props = new WebSocketTransportProperties();
+        props.setMaxQueuedPerSession(3);
+        OutboundBackpressureInterceptor interceptor = new OutboundBackpressureInterceptor(props);
+
+        for (int i = 0; i < 10; i++) {
+            Message<String> stale = frame("s1", "/topic/group.g.typing", "old" + i);
+            Message<String> fresh = frame("s1", "/topic/group.g.typing", "new" + i);
+            assertNotNull(interceptor.preSend(stale, channel));
+            assertNotNull(interceptor.preSend(fresh, channel));
+            assertNull(interceptor.beforeHandle(stale, channel, handler));
+            assertSame(fresh, interceptor.beforeHandle(fresh, channel, handler));
+            interceptor.afterMessageHandled(fresh, channel, handler, null);
+            assertEquals(0, interceptor.snapshot().get("queued"));
+        }
+
+        assertNotNull(interceptor.preSend(frame("s1", "/topic/group.g.typing", "last"), channel));
+        assertEquals(10L, interceptor.snapshot().get("coalesced"));
+        assertEquals(0L, interceptor.snapshot().get("dropped"));
+    }
+
+    @Test
+    void presenceFramesAreDroppedWhenSessionQueueIsFull() {
+        WebSocketTransportProperties props = new WebSocketTransportProperties();
+        props.setMaxQueuedPerSession(2);
+        OutboundBackpressureInterceptor interceptor = new OutboundBackpressureInterceptor(props);
+
+        assertNotNull(interceptor.preSend(frame("s1", "/topic/group.g.chat", "m1"), channel));
+        assertNotNull(interceptor.preSend(frame("s1", "/topic/group.g.chat", "m2"), channel));
+        assertNull(interceptor.preSend(frame("s1", "/topic/group.g.typing", "t"), channel));
+        assertNotNull(interceptor.preSend(frame("s1", "/topic/group.g.chat", "m3"), channel));
+
+        assertEquals(1L, interceptor.snapshot().get("dropped"));
+    }
+}
@@ -0,0 +1,102 @@
+package com.example.thesis.config;
+
+import com.example.thesis.service.SseEventHub;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.boot.context.properties.source.MapConfigurationPropertySource;
+import org.springframework.messaging.simp.broker.SimpleBrokerMessageHandler;
+import org.springframework.messaging.simp.config.MessageBrokerRegistry;
+import org.springframework.messaging.simp.stomp.StompBrokerRelayMessageHandler;
+import org.springframework.messaging.support.ExecutorSubscribableChannel;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+class WebSocketConfigTest {
+
+    private final SseEventHub sseEventHub = new SseEventHub(null, 10, 1000, 10, 1);
+
+    @AfterEach
+    void tearDown() {
+        sseEventHub.shutdown();
+    }
+
+    private InspectableRegistry configure(WebSocketBrokerProperties broker) {
+        WebSocketConfig config = new WebSocketConfig(new StompJwtChannelInterceptor(null, null), broker,
+                new WebSocketTransportProperties(), null, sseEventHub);
+        InspectableRegistry registry = new InspectableRegistry();
+        config.configureMessageBroker(registry);
+        return registry;
+    }
+
+    @Test
+    void simpleBrokerIsTheDefault() {
+        InspectableRegistry registry = configure(new WebSocketBrokerProperties());
+
+        assertNotNull(registry.simpleBroker());
+        assertNull(registry.relay());
+    }
+
+    @Test
+    void relayModeUsesConfiguredHostPortAndCredentials() {
+        Map<String, String> source = Map.of(
+                "app.websocket.broker.mode", "relay",
+                "app.websocket.broker.relay-host", "rabbit.internal",
+                "app.websocket.broker.relay-port", "61614",
+                "app.websocket.broker.client-login", "client",
+                "app.websocket.broker.client-passcode", "client-secret",
+                "app.websocket.broker.system-login", "system",
+                "app.websocket.broker.system-passcode", "system-secret",
+                "app.websocket.broker.virtual-host", "thesis",
+                "app.websocket.broker.heartbeat-ms", "5000");
+        WebSocketBrokerProperties broker = new Binder(new MapConfigurationPropertySource(source))
+                .bind("app.websocket.broker", WebSocketBrokerProperties.class)
+                .get();
+
+        InspectableRegistry registry = configure(broker);
+        StompBrokerRelayMessageHandler relay = registry.relay();
+
+        assertNull(registry.simpleBroker());
+        assertNotNull(relay);
+        assertEquals(List.of("/topic", "/queue"), List.copyOf(relay.getDestinationPrefixes()));
+        assertEquals("rabbit.internal", relay.getRelayHost());
+        assertEquals(61614, relay.getRelayPort());
+        assertEquals("client", relay.getClientLogin());
+        assertEquals("client-secret", relay.getClientPasscode());
+        assertEquals("system", relay.getSystemLogin());
+        assertEquals("system-secret", relay.getSystemPasscode());
+        assertEquals("thesis", relay.getVirtualHost());
+        assertEquals(5000, relay.getSystemHeartbeatSendInterval());
+        assertEquals(5000, relay.getSystemHeartbeatReceiveInterval());
+        assertEquals("/topic/unresolved-user-destination", registry.userDestinationBroadcast());
+        assertEquals("/topic/simp-user-registry", registry.userRegistryBroadcast());
+    }
+
+    private static final class InspectableRegistry extends MessageBrokerRegistry {
+
+        private InspectableRegistry() {
+            super(new ExecutorSubscribableChannel(), (message, timeout) -> true);
+        }
+
+        private SimpleBrokerMessageHandler simpleBroker() {
+            return getSimpleBroker(new ExecutorSubscribableChannel());
+        }
+
+        private StompBrokerRelayMessageHandler relay() {
+            return getStompBrokerRelay(new ExecutorSubscribableChannel());
+        }
+
+        private String userDestinationBroadcast() {
+            return getUserDestinationBroadcast();
+        }
+
+        private String userRegistryBroadcast() {
+            return getUserRegistryBroadcast();
+        }
+    }
+}
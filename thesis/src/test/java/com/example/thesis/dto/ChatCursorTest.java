@@ -0,0 +1,27 @@
+package com.example.thesis.dto;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class ChatCursorTest {
+
+    @Test
+    void roundTripKeepsTimestampAndId() {
+        LocalDateTime ts = LocalDateTime.of(2025, 3, 14, 15, 9, 26, 535_897_000);
+        UUID id = UUID.randomUUID();
+        ChatCursor decoded = ChatCursor.decode(new ChatCursor(ts, id).encode());
+        assertEquals(ts, decoded.getTimestamp());
+        assertEquals(id, decoded.getId());
+    }
+
+    @Test
+    void garbageCursorIsRejected() {
+        assertThrows(RuntimeException.class, () -> ChatCursor.decode("not-a-cursor"));
+        assertThrows(RuntimeException.class, () -> ChatCursor.decode("%%%"));
+    }
+}
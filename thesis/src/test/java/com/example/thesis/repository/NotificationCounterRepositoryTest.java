@@ -0,0 +1,92 @@
+package com.example.thesis.repository;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.SingleConnectionDataSource;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+/**
+ * Runs against the PostgreSQL instance from SPRING_DATASOURCE_* (skipped when it is unreachable),
+ * inside a throwaway schema holding just the columns the counter queries touch.
+ */
+class NotificationCounterRepositoryTest {
+
+    private final String schema = "counter_test_" + Long.toString(System.nanoTime(), 36);
+    private SingleConnectionDataSource dataSource;
+    private JdbcTemplate jdbc;
+    private NotificationCounterRepository repository;
+
+    @BeforeEach
+    void setUp() {
+        String url = env("SPRING_DATASOURCE_URL", "jdbc:postgresql://localhost:5432/thesis_db");
+        String user = env("SPRING_DATASOURCE_USERNAME", "postgres");
+        String password = env("SPRING_DATASOURCE_PASSWORD", "1234");
+        DriverManager.setLoginTimeout(2);
+        try (Connection ignored = DriverManager.getConnection(url, user, password)) {
+            dataSource = new SingleConnectionDataSource(url, user, password, true);
+        } catch (Exception e) {
+            assumeTrue(false, "PostgreSQL недоступен: " + e.getMessage());
+        }
+        jdbc = new JdbcTemplate(dataSource);
+        jdbc.execute("CREATE SCHEMA " + schema);
+        jdbc.execute("SET search_path TO " + schema);
+        jdbc.execute("CREATE TABLE notifications (id UUID PRIMARY KEY, user_id UUID NOT NULL, is_read BOOLEAN NOT NULL)");
+        jdbc.execute("CREATE TABLE notification_unread_counters (user_id UUID PRIMARY KEY, unread INT NOT NULL)");
+        repository = new NotificationCounterRepository(jdbc);
+    }
+
+    @AfterEach
+    void tearDown() {
+        if (jdbc != null) {
+            jdbc.execute("DROP SCHEMA " + schema + " CASCADE");
+            dataSource.destroy();
+        }
+    }
+
+    @Test
+    void incrementBeforeBackfillSeedsFromExistingUnread() {
+        UUID user = UUID.randomUUID();
+        for (int i = 0; i < 3; i++) {
+            insertNotification(user, false);
+        }
+        insertNotification(user, true);
+
+        insertNotification(user, false);
+        repository.increment(user);
+        repository.backfillMissing();
+
+        assertEquals(4, repository.get(user));
+
+        insertNotification(user, false);
+        repository.increment(user);
+        assertEquals(5, repository.get(user));
+    }
+
+    @Test
+    void backfillCoversUsersWithoutCounter() {
+        UUID user = UUID.randomUUID();
+        insertNotification(user, false);
+        insertNotification(user, false);
+
+        assertEquals(1, repository.backfillMissing());
+        assertEquals(2, repository.get(user));
+        assertEquals(0, repository.backfillMissing());
+    }
+
+    private void insertNotification(UUID userId, boolean read) {
+        jdbc.update("INSERT INTO notifications (id, user_id, is_read) VALUES (?, ?, ?)", UUID.randomUUID(), userId, read);
+    }
+
+    private static String env(String name, String fallback) {
+        String value = System.getenv(name);
+        return value != null && !value.isBlank() ? value : fallback;
+    }
+}
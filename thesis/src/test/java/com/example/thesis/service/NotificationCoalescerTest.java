@@ -0,0 +1,111 @@
+package com.example.thesis.service;
+
+import com.example.thesis.models.enums.NotificationType;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class NotificationCoalescerTest {
+
+    private static final UUID GROUP = UUID.randomUUID();
+    private static final UUID ALICE = UUID.randomUUID();
+    private static final UUID BOB = UUID.randomUUID();
+
+    private final List<String> sent = new ArrayList<>();
+
+    private final NotificationFanout fanout = new NotificationFanout(null, null, null, null, Runnable::run, 50) {
+        @Override
+        public void dispatch(NotificationType type, String message, UUID groupId, Collection<UUID> excludeUserIds) {
+            sent.add("all-except" + names(excludeUserIds) + ": " + message);
+        }
+
+        @Override
+        public void dispatchTo(NotificationType type, String message, UUID groupId, Collection<UUID> userIds) {
+            sent.add("only" + names(userIds) + ": " + message);
+        }
+    };
+
+    private final NotificationCoalescer coalescer = new NotificationCoalescer(fanout, new JdbcTemplate(), 5000, false, 0) {
+        @Override
+        String groupName(UUID groupId) {
+            return "Диплом";
+        }
+
+        @Override
+        Map<UUID, String> actorNames(Set<UUID> actors) {
+            Map<UUID, String> out = new LinkedHashMap<>();
+            if (actors.contains(ALICE)) {
+                out.put(ALICE, "alice");
+            }
+            if (actors.contains(BOB)) {
+                out.put(BOB, "bob");
+            }
+            return out;
+        }
+    };
+
+    private static List<String> names(Collection<UUID> ids) {
+        List<String> out = new ArrayList<>();
+        if (ids.contains(ALICE)) {
+            out.add("alice");
+        }
+        if (ids.contains(BOB)) {
+            out.add("bob");
+        }
+        return out;
+    }
+
+    @Test
+    void summaryNamesActorsAndCount() {
+        assertEquals("«Диплом»: alice, bob — загружено файлов: 200",
+                NotificationCoalescer.summarize(NotificationType.FILE_ADDED, "Диплом", List.of("alice", "bob"), 200));
+    }
+
+    @Test
+    void summaryTruncatesLongActorList() {
+        assertEquals("a, b, c и ещё 2 — удалено файлов: 7",
+                NotificationCoalescer.summarize(NotificationType.FILE_DELETED, null, List.of("a", "b", "c", "d", "e"), 7));
+    }
+
+    @Test
+    void singleEventPassesThroughUnchanged() {
+        coalescer.offer(NotificationType.FILE_ADDED, "alice загрузила a.pdf", GROUP, ALICE);
+        coalescer.flush(Long.MAX_VALUE, false);
+
+        assertEquals(List.of("all-except[alice]: alice загрузила a.pdf"), sent);
+    }
+
+    @Test
+    void burstBecomesOneDispatch() {
+        for (int i = 0; i < 3; i++) {
+            coalescer.offer(NotificationType.FILE_ADDED, "file " + i, GROUP, ALICE);
+        }
+        coalescer.flush(System.currentTimeMillis(), false);
+        assertEquals(List.of(), sent);
+
+        coalescer.flush(Long.MAX_VALUE, false);
+        assertEquals(List.of("all-except[alice]: «Диплом»: alice — загружено файлов: 3"), sent);
+    }
+
+    @Test
+    void actorStillReceivesOtherActorsEvents() {
+        coalescer.offer(NotificationType.FILE_ADDED, "alice: a1", GROUP, ALICE);
+        coalescer.offer(NotificationType.FILE_ADDED, "alice: a2", GROUP, ALICE);
+        coalescer.offer(NotificationType.FILE_ADDED, "bob: b1", GROUP, BOB);
+        coalescer.flush(Long.MAX_VALUE, false);
+
+        assertEquals(List.of(
+                "all-except[alice, bob]: «Диплом»: alice, bob — загружено файлов: 3",
+                "only[alice]: bob: b1",
+                "only[bob]: «Диплом»: alice — загружено файлов: 2"), sent);
+    }
+}
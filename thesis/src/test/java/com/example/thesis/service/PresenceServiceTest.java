@@ -0,0 +1,75 @@
+package com.example.thesis.service;
+
+import com.example.thesis.dto.PresenceDelta;
+import org.junit.jupiter.api.Test;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.simp.SimpMessagingTemplate;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class PresenceServiceTest {
+
+    private final List<Message<?>> sent = new ArrayList<>();
+    private final SimpMessagingTemplate template = new SimpMessagingTemplate((message, timeout) -> sent.add(message));
+
+    @Test
+    void repeatedPingsBroadcastOnlyTheJoin() {
+        PresenceService service = new PresenceService(template, new LocalPresenceStore(), 45_000, 1_000, 2_000);
+        UUID group = UUID.randomUUID();
+        UUID user = UUID.randomUUID();
+        long now = System.currentTimeMillis();
+
+        for (int i = 0; i < 10; i++) {
+            service.touch(group, user, now + i * 100L);
+        }
+        service.advance(now + 3_000);
+        service.touch(group, user, now + 20_000);
+        service.advance(now + 25_000);
+
+        assertEquals(1, sent.size());
+        assertEquals(List.of(user), service.getOnlineUserIds(group));
+    }
+
+    @Test
+    void silentMembersAreAnnouncedOffline() {
+        PresenceService service = new PresenceService(template, new LocalPresenceStore(), 45_000, 1_000, 0);
+        UUID group = UUID.randomUUID();
+        UUID user = UUID.randomUUID();
+        long now = System.currentTimeMillis();
+
+        service.touch(group, user, now);
+        service.advance(now + 1_000);
+        service.advance(now + 47_000);
+
+        assertEquals(2, sent.size());
+        assertTrue(service.getOnlineUserIds(group).isEmpty());
+        assertEquals(2, service.getSequence(group));
+    }
+
+    @Test
+    void leaveIsNotAnnouncedWhileOnlineOnAnotherNode() {
+        UUID group = UUID.randomUUID();
+        UUID user = UUID.randomUUID();
+        PresenceStore store = new LocalPresenceStore() {
+            @Override
+            public Set<UUID> onlineElsewhere(UUID groupId, Collection<UUID> userIds, long since) {
+                return Set.of(user);
+            }
+        };
+        PresenceService service = new PresenceService(template, store, 45_000, 1_000, 0);
+        long now = System.currentTimeMillis();
+
+        service.touch(group, user, now);
+        service.advance(now + 1_000);
+        service.advance(now + 47_000);
+
+        assertTrue(sent.isEmpty());
+    }
+}
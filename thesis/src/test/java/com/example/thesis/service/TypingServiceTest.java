@@ -0,0 +1,51 @@
+package com.example.thesis.service;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.simp.SimpMessagingTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class TypingServiceTest {
+
+    private final List<Message<?>> sent = new ArrayList<>();
+    private final SimpMessagingTemplate template = new SimpMessagingTemplate((message, timeout) -> sent.add(message));
+
+    @Test
+    void repeatedKeystrokesProduceOneUpdatePerFlush() {
+        TypingService service = new TypingService(template, 60_000);
+        UUID group = UUID.randomUUID();
+        UUID user = UUID.randomUUID();
+
+        service.update(group, user, true);
+        service.update(group, user, true);
+        service.update(group, user, true);
+        service.flush();
+        assertEquals(1, sent.size());
+
+        service.update(group, user, true);
+        service.flush();
+        assertEquals(1, sent.size());
+
+        service.stop(group, user);
+        service.flush();
+        assertEquals(2, sent.size());
+    }
+
+    @Test
+    void expiredTypersAreBroadcastAsStopped() {
+        TypingService service = new TypingService(template, -1);
+        UUID group = UUID.randomUUID();
+
+        service.update(group, UUID.randomUUID(), true);
+        service.flush();
+
+        assertEquals(1, sent.size());
+        assertEquals(List.of(), service.getTypingUserIds(group));
+        assertEquals(0, service.trackedGroupCount());
+    }
+}
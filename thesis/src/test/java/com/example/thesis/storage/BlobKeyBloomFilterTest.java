@@ -0,0 +1,34 @@
+package com.example.thesis.storage;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class BlobKeyBloomFilterTest {
+
+    @Test
+    void addedKeysAreAlwaysReported() {
+        BlobKeyBloomFilter filter = new BlobKeyBloomFilter(10_000, 0.01, 42L);
+        for (int i = 0; i < 10_000; i++) {
+            filter.add("group-" + (i % 37) + "/file-" + i + ".bin");
+        }
+        for (int i = 0; i < 10_000; i++) {
+            assertTrue(filter.mightContain("group-" + (i % 37) + "/file-" + i + ".bin"));
+        }
+    }
+
+    @Test
+    void falsePositiveRateStaysNearTarget() {
+        BlobKeyBloomFilter filter = new BlobKeyBloomFilter(10_000, 0.01, 7L);
+        for (int i = 0; i < 10_000; i++) {
+            filter.add("present/" + i);
+        }
+        int falsePositives = 0;
+        for (int i = 0; i < 10_000; i++) {
+            if (filter.mightContain("absent/" + i)) {
+                falsePositives++;
+            }
+        }
+        assertTrue(falsePositives < 300, "false positives: " + falsePositives);
+    }
+}
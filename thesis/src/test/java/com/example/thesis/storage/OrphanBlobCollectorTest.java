@@ -0,0 +1,26 @@
+package com.example.thesis.storage;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class OrphanBlobCollectorTest {
+
+    @Test
+    void halfMigratedRowKeepsBothLayoutsReferenced() {
+        UUID group = UUID.randomUUID();
+        String flat = ShardedKeyLayout.flatKey(group, "report.pdf");
+        String sharded = ShardedKeyLayout.shardedKey(group, "report.pdf");
+
+        List<String> fromFlatPath = OrphanBlobCollector.localKeys(flat);
+        assertTrue(fromFlatPath.contains(flat));
+        assertTrue(fromFlatPath.contains(sharded));
+
+        List<String> fromShardedPath = OrphanBlobCollector.localKeys(sharded);
+        assertTrue(fromShardedPath.contains(sharded));
+        assertTrue(fromShardedPath.contains(flat));
+    }
+}
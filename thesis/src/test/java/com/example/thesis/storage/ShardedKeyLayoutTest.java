@@ -0,0 +1,51 @@
+package com.example.thesis.storage;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ShardedKeyLayoutTest {
+
+    @TempDir
+    Path uploads;
+
+    @Test
+    void shardedKeyIsDeterministicTwoLevelFanOut() {
+        UUID group = UUID.fromString("015a3b15-59d9-4f6d-837c-ba8059ac28d0");
+        String key = ShardedKeyLayout.shardedKey(group, "file.png");
+        assertEquals(key, ShardedKeyLayout.shardedKey(group, "file.png"));
+        String[] parts = key.split("/");
+        assertEquals(4, parts.length);
+        assertEquals(group.toString(), parts[0]);
+        assertTrue(ShardedKeyLayout.isShardDir(parts[1]));
+        assertTrue(ShardedKeyLayout.isShardDir(parts[2]));
+        assertEquals("file.png", parts[3]);
+    }
+
+    @Test
+    void resolveExistingFindsFileInEitherLayout() throws Exception {
+        LocalFileContentStorage storage = new LocalFileContentStorage();
+        ReflectionTestUtils.setField(storage, "uploadDir", uploads.toString());
+        UUID group = UUID.randomUUID();
+        String flat = ShardedKeyLayout.flatKey(group, "a.txt");
+        String sharded = ShardedKeyLayout.shardedKey(group, "a.txt");
+
+        Files.createDirectories(uploads.resolve(flat).getParent());
+        Files.writeString(uploads.resolve(flat), "x");
+        storage.move(flat, sharded);
+
+        Path resolved = storage.resolveExisting(storage.pathForKey(flat));
+        assertEquals(uploads.resolve(sharded), resolved);
+        assertEquals(sharded, storage.keyForPath(resolved.toString()));
+
+        storage.move(sharded, flat);
+        assertEquals(uploads.resolve(flat), storage.resolveExisting(storage.pathForKey(sharded)));
+    }
+}
@@ -0,0 +1,52 @@
+package com.example.thesis.storage;
+
+import com.example.thesis.config.StorageProperties;
+import com.example.thesis.models.FileMetadata;
+import com.example.thesis.models.enums.StorageBackend;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class StorageTieringServiceTest {
+
+    private static StorageProperties tiering(String newFiles) {
+        StorageProperties p = new StorageProperties();
+        p.setTieringEnabled(true);
+        p.setTieringAccessSampleRate(0);
+        p.setNewFiles(newFiles);
+        return p;
+    }
+
+    private static FileMetadata objectStoreFile() {
+        FileMetadata fm = new FileMetadata();
+        fm.setId(UUID.randomUUID());
+        fm.setStorageBackend(StorageBackend.OBJECT_STORE);
+        return fm;
+    }
+
+    @Test
+    void accessedObjectStoreFileIsQueuedForPromotionWhenNewFilesAreLocal() {
+        BlobAccessTracker tracker = new BlobAccessTracker(new JdbcTemplate(), tiering("local"));
+        FileMetadata fm = objectStoreFile();
+
+        tracker.recordAccess(fm);
+
+        assertEquals(List.of(fm.getId()), tracker.drainPromotions(10));
+    }
+
+    @Test
+    void nothingIsPromotedOntoLocalDiskWhenNewFilesGoToObjectStore() {
+        StorageProperties props = tiering("object");
+        BlobAccessTracker tracker = new BlobAccessTracker(new JdbcTemplate(), props);
+        StorageTieringService service = new StorageTieringService(new JdbcTemplate(), null, tracker, null, props);
+
+        tracker.recordAccess(objectStoreFile());
+
+        assertEquals(List.of(), tracker.drainPromotions(10));
+        assertEquals(0, service.promoteAccessedFiles());
+    }
+}
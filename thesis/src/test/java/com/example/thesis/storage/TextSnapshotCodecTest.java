@@ -0,0 +1,28 @@
+package com.example.thesis.storage;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class TextSnapshotCodecTest {
+
+    @Test
+    void roundTripPreservesUnicodeText() {
+        String text = "Привет, мир!\nline 2\t— ✓";
+        assertEquals(text, TextSnapshotCodec.decompress(TextSnapshotCodec.compress(text)));
+    }
+
+    @Test
+    void repetitiveTextCompressesWell() {
+        String text = "public class Foo {}\n".repeat(5_000);
+        byte[] packed = TextSnapshotCodec.compress(text);
+        assertTrue(packed.length < text.length() / 10);
+    }
+
+    @Test
+    void emptyInputDecompressesToEmptyString() {
+        assertEquals("", TextSnapshotCodec.decompress(new byte[0]));
+        assertEquals("", TextSnapshotCodec.decompress(null));
+    }
+}